@@ -0,0 +1,82 @@
+package com.string_manipulator.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential vs {@link ParallelGraphemes} reverse and index over a mixed-script text, across pool
+ * sizes. {@code threads = 0} is the sequential path StringService takes below
+ * {@code string.parallel.threshold}; any other value runs the parallel path on a pool of that size.
+ * Speedups only mean something on a machine with at least that many cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelGraphemesBenchmark {
+
+    // ASCII words, combining marks, Hangul, an emoji ZWJ sequence and a flag, so every chunk has work
+    private static final String[] PIECES = {
+            "lorem ", "ipsum ", "é ", "각 ", "👨‍👩 ",
+            "🇺🇸 ", "क्ष "
+    };
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1048576"})
+    public int length;
+
+    @Param({"table", "jdk"})
+    public String segmenterName;
+
+    private String text;
+    private GraphemeSegmenter segmenter;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        text = builder.toString();
+        segmenter = "jdk".equals(segmenterName) ? JdkGraphemeSegmenter.INSTANCE : TableGraphemeSegmenter.INSTANCE;
+        pool = threads > 0 ? new ForkJoinPool(threads) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public String reverse() {
+        return pool == null ? ReverseString.reverse(text, segmenter) : ParallelGraphemes.reverse(text, segmenter, pool);
+    }
+
+    @Benchmark
+    public GraphemeIndex index() {
+        return pool == null ? segmenter.index(text) : ParallelGraphemes.index(text, segmenter, pool);
+    }
+}
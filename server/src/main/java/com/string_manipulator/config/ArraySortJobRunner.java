@@ -0,0 +1,44 @@
+package com.string_manipulator.config;
+
+import com.string_manipulator.service.ExternalSortReport;
+import com.string_manipulator.service.ExternalSortService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs an external sort of a binary-format file at startup when {@code array.sort.external.input} is set, e.g.
+ * {@code --spring.main.web-application-type=none --array.sort.external.input=in.bin
+ * --array.sort.external.output=out.bin}.
+ */
+@Component
+@ConditionalOnProperty("array.sort.external.input")
+public class ArraySortJobRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArraySortJobRunner.class);
+
+    private final ExternalSortService externalSortService;
+
+    @Value("${array.sort.external.input}")
+    private Path input;
+    @Value("${array.sort.external.output}")
+    private Path output;
+
+    @Autowired
+    public ArraySortJobRunner(ExternalSortService externalSortService) {
+        this.externalSortService = externalSortService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ExternalSortReport report = externalSortService.sortFile(input, output);
+        logger.info("External sort finished - {}", report);
+    }
+}
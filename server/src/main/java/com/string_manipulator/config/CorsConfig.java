@@ -19,7 +19,7 @@ public class CorsConfig {
                                 "http://localhost:5173",          // local dev frontend
                                 "https://frontend-domain.com" // production frontend
                         )
-                        .allowedMethods("POST", "OPTIONS")
+                        .allowedMethods("GET", "POST", "DELETE", "OPTIONS")
                         .allowedHeaders("Content-Type", "Accept")
                         .allowCredentials(false);
             }
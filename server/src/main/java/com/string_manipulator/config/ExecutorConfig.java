@@ -0,0 +1,45 @@
+package com.string_manipulator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Bounded pool for /api/string/batch items; when the queue is full the request thread runs the item itself
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService stringBatchExecutor(@Value("${string.batch.threads:4}") int threads,
+                                               @Value("${string.batch.queue-capacity:1000}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("string-batch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Middle tier of ExecutionPolicy; when the queue is full the request thread runs the work itself
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor parallelTierExecutor(@Value("${execution.parallel.threads:4}") int threads,
+                                                   @Value("${execution.parallel.queue-capacity:1000}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("execution-parallel-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Bulk tier of ExecutionPolicy; when the queue is full the work is rejected and the request gets a 503
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor bulkTierExecutor(@Value("${execution.bulk.threads:2}") int threads,
+                                               @Value("${execution.bulk.queue-capacity:4}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("execution-bulk-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,33 @@
+package com.string_manipulator.config;
+
+import com.string_manipulator.util.GraphemeSegmenter;
+import com.string_manipulator.util.JdkGraphemeSegmenter;
+import com.string_manipulator.util.TableGraphemeSegmenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphemeSegmenterConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphemeSegmenterConfig.class);
+
+    // "jdk" = java.text.BreakIterator, the engine the endpoints have always used
+    // "table" = built-in UAX #29 state machine, opt-in because it does not split every input like jdk
+    @Bean
+    public GraphemeSegmenter graphemeSegmenter(@Value("${string.grapheme.segmenter:jdk}") String engine) {
+        String normalized = engine.trim().toLowerCase();
+        GraphemeSegmenter segmenter = switch (normalized) {
+            case "table" -> TableGraphemeSegmenter.INSTANCE;
+            case "jdk" -> JdkGraphemeSegmenter.INSTANCE;
+            default -> throw new IllegalStateException(
+                    "string.grapheme.segmenter must be 'table' or 'jdk', was '" + engine + "'");
+        };
+        // warm up here so the lookup table is built at startup rather than on the first request
+        segmenter.count("warm-up");
+        logger.info("Using {} grapheme segmenter", normalized);
+        return segmenter;
+    }
+}
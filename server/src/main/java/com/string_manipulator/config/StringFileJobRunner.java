@@ -0,0 +1,54 @@
+package com.string_manipulator.config;
+
+import com.string_manipulator.service.FileJobReport;
+import com.string_manipulator.service.StringFileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs a file-mode reverse/shift job at startup when {@code string.file.operation} is set, e.g.
+ * {@code --spring.main.web-application-type=none --string.file.operation=reverse
+ * --string.file.input=in.txt --string.file.output=out.txt}.
+ */
+@Component
+@ConditionalOnProperty("string.file.operation")
+public class StringFileJobRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringFileJobRunner.class);
+
+    private final StringFileService stringFileService;
+
+    @Value("${string.file.operation}")
+    private String operation;
+    @Value("${string.file.input}")
+    private Path input;
+    @Value("${string.file.output}")
+    private Path output;
+    @Value("${string.file.shifts:0}")
+    private int shifts;
+    @Value("${string.file.direction:left}")
+    private String direction;
+
+    @Autowired
+    public StringFileJobRunner(StringFileService stringFileService) {
+        this.stringFileService = stringFileService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        FileJobReport report = switch (operation.trim().toLowerCase()) {
+            case "reverse" -> stringFileService.reverseFile(input, output);
+            case "shift" -> stringFileService.shiftFile(input, output, shifts, direction);
+            default -> throw new IllegalArgumentException("string.file.operation must be 'reverse' or 'shift'");
+        };
+        logger.info("File job finished - {}", report);
+    }
+}
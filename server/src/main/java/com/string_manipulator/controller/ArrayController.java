@@ -1,35 +1,70 @@
 package com.string_manipulator.controller;
 
+import com.string_manipulator.dto.array.ArrayPipelineRequest;
+import com.string_manipulator.dto.array.DatasetInfo;
+import com.string_manipulator.dto.array.DatasetListResponse;
+import com.string_manipulator.dto.array.DatasetRequest;
+import com.string_manipulator.dto.array.FrequencyRequest;
+import com.string_manipulator.dto.array.NumberArray;
+import com.string_manipulator.dto.array.PartitionRequest;
+import com.string_manipulator.dto.array.SelectRequest;
 import com.string_manipulator.dto.array.SeparationRequest;
 import com.string_manipulator.dto.array.SortRequest;
+import com.string_manipulator.dto.array.StatsRequest;
 import com.string_manipulator.dto.array.SumRequest;
-import com.string_manipulator.dto.array.SumResponse;
 import com.string_manipulator.dto.array.separation_responses.DoubleSepResponse;
 import com.string_manipulator.dto.array.separation_responses.IntSepResponses;
 import com.string_manipulator.dto.array.sort_responses.DoubleSortResponse;
 import com.string_manipulator.dto.array.sort_responses.IntSortResponse;
+import com.string_manipulator.dto.array.sum_responses.DoubleSumResponse;
+import com.string_manipulator.dto.array.sum_responses.IntSumResponse;
+import com.string_manipulator.service.ArrayDatasetService;
 import com.string_manipulator.service.ArrayService;
-import com.string_manipulator.service.SeparationResult;
+import com.string_manipulator.service.DoubleSeparationResult;
+import com.string_manipulator.service.ExecutionPolicy;
+import com.string_manipulator.service.ExternalSortService;
+import com.string_manipulator.service.IntSeparationResult;
+import com.string_manipulator.service.SeparationType;
+import com.string_manipulator.util.BinaryArrayCodec;
+import com.string_manipulator.util.OffHeapArray;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+
 
 @RestController
 @RequestMapping("/api/array")
 public class ArrayController {
 
+    // same cap as the JSON requests
+    private static final int MAX_BINARY_ELEMENTS = 10_000_000;
+
     private final ArrayService arrayService;
+    private final ArrayDatasetService datasetService;
+    private final ExternalSortService externalSortService;
+    private final ExecutionPolicy executionPolicy;
 
     @Autowired
-    public ArrayController(ArrayService arrayService) {
+    public ArrayController(ArrayService arrayService, ArrayDatasetService datasetService,
+                           ExternalSortService externalSortService, ExecutionPolicy executionPolicy) {
         this.arrayService = arrayService;
+        this.datasetService = datasetService;
+        this.externalSortService = externalSortService;
+        this.executionPolicy = executionPolicy;
     }
 
     @PostMapping(
@@ -37,18 +72,16 @@ public class ArrayController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public SumResponse sum(@Valid @RequestBody SumRequest request) {
-        List<Number> values = request.numbersList();
-        boolean allIntegers = values.stream().allMatch(Integer.class::isInstance);
-
-        if (allIntegers) {
-            int[] arr = values.stream().mapToInt(Number::intValue).toArray();
-            return new SumResponse(arrayService.sumArray(arr));
-        } else {
-            double[] arr = values.stream().mapToDouble(Number::doubleValue).toArray();
-            return new SumResponse(arrayService.sumArray(arr));
-        }
+    public Object sum(@Valid @RequestBody SumRequest request) {
+        NumberArray values = request.numbersList();
 
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return new IntSumResponse(arrayService.sumArray(values.toIntArray()));
+            } else {
+                return new DoubleSumResponse(arrayService.sumArray(values.toDoubleArray(), request.sumMode()));
+            }
+        });
     }
 
     @PostMapping(
@@ -58,26 +91,23 @@ public class ArrayController {
     )
     public Object sort(@Valid @RequestBody SortRequest request) {
 
-        List<Number> values = request.numbersList();
-
-        boolean allIntegers = values.stream()
-                .allMatch(Integer.class::isInstance);
+        NumberArray values = request.numbersList();
 
-        if (allIntegers) {
-            int[] arr = values.stream().mapToInt(Number::intValue).toArray();
-            int[] sorted = arrayService.sortArray(arr, request.orderType());
+        return executionPolicy.runArray(values.size(), () -> {
+            // the type was detected while parsing; anything wider than int is handled as double
+            if (values.type() == NumberArray.Type.INT) {
+                int[] arr = values.toIntArray();
+                // arr was built just for this call, so it can be sorted in place
+                int[] sorted = arrayService.sortArray(arr, request.orderType(), true);
 
-            return new IntSortResponse(
-                    Arrays.stream(sorted).boxed().toList(),
-                    request.orderType().toLowerCase());
-        }
+                return new IntSortResponse(sorted, request.orderType().toLowerCase());
+            }
 
-        double[] arr = values.stream().mapToDouble(Number::doubleValue).toArray();
-        double[] sorted = arrayService.sortArray(arr, request.orderType());
+            double[] arr = values.toDoubleArray();
+            double[] sorted = arrayService.sortArray(arr, request.orderType(), true);
 
-        return new DoubleSortResponse(
-                Arrays.stream(sorted).boxed().toList(),
-                request.orderType().toLowerCase());
+            return new DoubleSortResponse(sorted, request.orderType().toLowerCase());
+        });
     }
 
     @PostMapping(
@@ -87,51 +117,322 @@ public class ArrayController {
     )
     public Object separate(@Valid @RequestBody SeparationRequest request) {
 
-        List<Number> values = request.numbersList();
-
-        boolean allIntegers = values.stream()
-                .allMatch(Integer.class::isInstance);
-
-        if (allIntegers) {
-            // Convert to int[]
-            int[] arr = values.stream()
-                    .mapToInt(Number::intValue)
-                    .toArray();
-            //call the method first
-            SeparationResult<Integer> result = arrayService.separateArray(arr, request.separationType());
-
-            // Convert arrays back to List<Integer>
-            List<Integer> first;
-            List<Integer> second;
-            if (result.separationType() == SeparationResult.SeparationType.PARITY) {
-                first = result.getEven();
-                second = result.getOdd();
-            } else {
-                first = result.getPositive();
-                second = result.getNegative();
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                int[] arr = values.toIntArray();
+                //call the method first
+                IntSeparationResult result = arrayService.separateArray(arr, request.separationType());
+                return toResponse(result);
             }
 
-            return new IntSepResponses(first, second, result.separationType().getValue());
+            // Otherwise treat as double[]
+            double[] arr = values.toDoubleArray();
+
+            DoubleSeparationResult result = arrayService.separateArray(arr, request.separationType());
+            return toResponse(result);
+        });
+    }
+
+    @PostMapping(
+            value = "/select",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object select(@Valid @RequestBody SelectRequest request) {
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.selectArray(values.toIntArray(), request.topK(), request.bottomK(),
+                        request.kth(), request.percentiles());
+            }
+            return arrayService.selectArray(values.toDoubleArray(), request.topK(), request.bottomK(),
+                    request.kth(), request.percentiles());
+        });
+    }
+
+    @PostMapping(
+            value = "/stats",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object stats(@Valid @RequestBody StatsRequest request) {
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.statsArray(values.toIntArray());
+            }
+            return arrayService.statsArray(values.toDoubleArray());
+        });
+    }
+
+    @PostMapping(
+            value = "/partition",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object partition(@Valid @RequestBody PartitionRequest request) {
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.partitionArray(values.toIntArray(), request.partitionType(), request.modulus(),
+                        request.boundaries(), request.buckets());
+            }
+            return arrayService.partitionArray(values.toDoubleArray(), request.partitionType(), request.modulus(),
+                    request.boundaries(), request.buckets());
+        });
+    }
+
+    @PostMapping(
+            value = "/distinct",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object distinct(@Valid @RequestBody FrequencyRequest request) {
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.distinctArray(values.toIntArray(), request.sortByFrequency(), request.limit());
+            }
+            return arrayService.distinctArray(values.toDoubleArray(), request.sortByFrequency(), request.limit());
+        });
+    }
+
+    @PostMapping(
+            value = "/frequencies",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object frequencies(@Valid @RequestBody FrequencyRequest request) {
+        NumberArray values = request.numbersList();
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.frequencyArray(values.toIntArray(), request.sortByFrequency(), request.limit());
+            }
+            return arrayService.frequencyArray(values.toDoubleArray(), request.sortByFrequency(), request.limit());
+        });
+    }
+
+    // One parse and one validation for the whole chain; the parsed array is the working buffer
+    @PostMapping(
+            value = "/pipeline",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Object pipeline(@Valid @RequestBody ArrayPipelineRequest request) {
+        NumberArray values = request.numbersList();
+        boolean includeValues = !Boolean.FALSE.equals(request.includeValues());
+
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return arrayService.pipelineArray(values.toIntArray(), request.steps(), includeValues);
+            }
+            return arrayService.pipelineArray(values.toDoubleArray(), request.steps(), includeValues);
+        });
+    }
+
+    // Binary variants: see BinaryArrayCodec for the header layout; the parameter byte replaces the JSON options
+    @PostMapping(
+            value = "/sum",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+    )
+    public void sumBinary(InputStream body, HttpServletResponse response) throws IOException {
+        BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(body, MAX_BINARY_ELEMENTS);
+        String sumMode = binaryParameter(frame.parameter(), "compensated", "pairwise");
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        // only the computation goes through the execution tiers; the request thread writes the result
+        if (frame.isInt()) {
+            long sum = executionPolicy.runArray(frame.length(), () -> arrayService.sumArray(frame.ints()));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), sum);
+        } else {
+            double sum = executionPolicy.runArray(frame.length(), () -> arrayService.sumArray(frame.doubles(), sumMode));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), new double[]{sum});
         }
+    }
 
-        // Otherwise treat as double[]
-        double[] arr = values.stream()
-                .mapToDouble(Number::doubleValue)
-                .toArray();
+    @PostMapping(
+            value = "/sort",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+    )
+    public void sortBinary(InputStream body, HttpServletResponse response) throws IOException {
+        BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(body, MAX_BINARY_ELEMENTS);
+        String orderType = binaryParameter(frame.parameter(), "ascending", "descending");
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        if (frame.isInt()) {
+            int[] sorted = executionPolicy.runArray(frame.length(),
+                    () -> arrayService.sortArray(frame.ints(), orderType, true));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), sorted);
+        } else {
+            double[] sorted = executionPolicy.runArray(frame.length(),
+                    () -> arrayService.sortArray(frame.doubles(), orderType, true));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), sorted);
+        }
+    }
 
-        SeparationResult<Double> result = arrayService.separateArray(arr, request.separationType());
+    @PostMapping(
+            value = "/separate",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+    )
+    public void separateBinary(InputStream body, HttpServletResponse response) throws IOException {
+        BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(body, MAX_BINARY_ELEMENTS);
+        String separationType = binaryParameter(frame.parameter(), "parity", "sign");
 
-        List<Double> first;
-        List<Double> second;
-        if (result.separationType() == SeparationResult.SeparationType.PARITY) {
-            first = result.getEven();
-            second = result.getOdd();
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        if (frame.isInt()) {
+            IntSeparationResult result = executionPolicy.runArray(frame.length(),
+                    () -> arrayService.separateArray(frame.ints(), separationType));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), result.first(), result.second());
         } else {
-            first = result.getPositive();
-            second = result.getNegative();
+            DoubleSeparationResult result = executionPolicy.runArray(frame.length(),
+                    () -> arrayService.separateArray(frame.doubles(), separationType));
+            BinaryArrayCodec.write(response.getOutputStream(), frame.parameter(), result.first(), result.second());
+        }
+    }
+
+    // External sort: sorts bodies of any size in memory-budgeted runs, streaming the merged result back
+    @PostMapping(
+            value = "/sort/external",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+    )
+    public void sortExternal(InputStream body, HttpServletResponse response) throws IOException {
+        // the header gives the size up front, so reading and sorting the runs is tiered like any array;
+        // the merge only streams, so it stays on the request thread
+        BinaryArrayCodec.Header header = externalSortService.readHeader(body);
+        try (ExternalSortService.SpilledRuns runs = executionPolicy.runArrayIo(header.count(),
+                () -> externalSortService.spill(header, body))) {
+            // known before the merge starts, so they can go out as headers
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader("X-Sort-Runs", String.valueOf(runs.runs()));
+            response.setHeader("X-Spill-Bytes", String.valueOf(runs.spillBytes()));
+            externalSortService.merge(runs, response.getOutputStream());
+        }
+    }
+
+    /**************************************************************************/
+
+    // Datasets: upload once (JSON or binary), then run the operations by id
+    @PostMapping(
+            value = "/datasets",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    public DatasetInfo createDataset(@Valid @RequestBody DatasetRequest request) {
+        NumberArray values = request.numbersList();
+        return executionPolicy.runArray(values.size(), () -> {
+            if (values.type() == NumberArray.Type.INT) {
+                return datasetService.store(values.toIntArray());
+            }
+            return datasetService.store(values.toDoubleArray());
+        });
+    }
+
+    @PostMapping(
+            value = "/datasets",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    public DatasetInfo createDatasetBinary(InputStream body) throws IOException {
+        BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(body, MAX_BINARY_ELEMENTS);
+        return executionPolicy.runArray(frame.length(), () -> {
+            if (frame.isInt()) {
+                return datasetService.store(frame.ints());
+            }
+            return datasetService.store(frame.doubles());
+        });
+    }
+
+    @GetMapping(value = "/datasets", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DatasetListResponse listDatasets() {
+        return datasetService.list();
+    }
+
+    @GetMapping(value = "/datasets/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DatasetInfo getDataset(@PathVariable String id) {
+        return datasetService.info(id);
+    }
+
+    @DeleteMapping("/datasets/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteDataset(@PathVariable String id) {
+        datasetService.delete(id);
+    }
+
+    // Sum and separate read the off-heap values in place; sort works on a fresh heap copy,
+    // so it never changes the stored dataset
+    @PostMapping(value = "/datasets/{id}/sum", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Object sumDataset(@PathVariable String id,
+                                  @RequestParam(required = false) String sumMode) {
+        OffHeapArray dataset = datasetService.get(id);
+        return executionPolicy.runArray(dataset.length(), () -> {
+            if (dataset.isInt()) {
+                return new IntSumResponse(arrayService.sumArray(dataset.intView()));
+            }
+            return new DoubleSumResponse(arrayService.sumArray(dataset.doubleView(), sumMode));
+        });
+    }
+
+    @PostMapping(value = "/datasets/{id}/sort", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Object sortDataset(@PathVariable String id, @RequestParam String orderType) {
+        OffHeapArray dataset = datasetService.get(id);
+        return executionPolicy.runArray(dataset.length(), () -> {
+            if (dataset.isInt()) {
+                int[] sorted = arrayService.sortArray(dataset.toIntArray(), orderType, true);
+                return new IntSortResponse(sorted, orderType.toLowerCase());
+            }
+            double[] sorted = arrayService.sortArray(dataset.toDoubleArray(), orderType, true);
+            return new DoubleSortResponse(sorted, orderType.toLowerCase());
+        });
+    }
+
+    @PostMapping(value = "/datasets/{id}/separate", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Object separateDataset(@PathVariable String id, @RequestParam String separationType) {
+        OffHeapArray dataset = datasetService.get(id);
+        return executionPolicy.runArray(dataset.length(), () -> {
+            if (dataset.isInt()) {
+                return toResponse(arrayService.separateArray(dataset.intView(), separationType));
+            }
+            return toResponse(arrayService.separateArray(dataset.doubleView(), separationType));
+        });
+    }
+
+    /**************************************************************************/
+
+    // The groups are already exact-size primitive arrays, serialized as they are
+    private static IntSepResponses toResponse(IntSeparationResult result) {
+        if (result.separationType() == SeparationType.PARITY) {
+            return new IntSepResponses(result.getEven(), result.getOdd(), result.separationType().getValue());
         }
+        return new IntSepResponses(result.getPositive(), result.getNegative(), result.separationType().getValue());
+    }
+
+    private static DoubleSepResponse toResponse(DoubleSeparationResult result) {
+        if (result.separationType() == SeparationType.PARITY) {
+            return new DoubleSepResponse(result.getEven(), result.getOdd(), result.separationType().getValue());
+        }
+        return new DoubleSepResponse(result.getPositive(), result.getNegative(), result.separationType().getValue());
+    }
 
-        return new DoubleSepResponse(first, second, result.separationType().getValue());
+    private static String binaryParameter(int parameter, String zero, String one) {
+        return switch (parameter) {
+            case 0 -> zero;
+            case 1 -> one;
+            default -> throw new IllegalArgumentException(
+                    "Parameter byte must be 0 (" + zero + ") or 1 (" + one + "), got " + parameter);
+        };
     }
 
 }
@@ -1,27 +1,55 @@
 package com.string_manipulator.controller;
 
+import com.string_manipulator.dto.string.BatchRequest;
+import com.string_manipulator.dto.string.BatchResponse;
+import com.string_manipulator.dto.string.PipelineRequest;
+import com.string_manipulator.dto.string.PipelineResponse;
 import com.string_manipulator.dto.string.ReverseRequest;
 import com.string_manipulator.dto.string.ReverseResponse;
 import com.string_manipulator.dto.string.ShiftRequest;
 import com.string_manipulator.dto.string.ShiftResponse;
+import com.string_manipulator.service.ExecutionPolicy;
+import com.string_manipulator.service.StringBatchService;
 import com.string_manipulator.service.StringService;
+import com.string_manipulator.service.StringStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping("/api/string")
 public class StringController {
 
+    private static final String TEXT_PLAIN_UTF8 = "text/plain;charset=UTF-8";
+
     private final StringService stringService;
+    private final StringStreamService stringStreamService;
+    private final StringBatchService stringBatchService;
+    private final ExecutionPolicy executionPolicy;
 
     @Autowired
-    public StringController(StringService stringService) {
+    public StringController(StringService stringService, StringStreamService stringStreamService,
+                            StringBatchService stringBatchService, ExecutionPolicy executionPolicy) {
         this.stringService = stringService;
+        this.stringStreamService = stringStreamService;
+        this.stringBatchService = stringBatchService;
+        this.executionPolicy = executionPolicy;
     }
 
     @PostMapping(
@@ -30,7 +58,8 @@ public class StringController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ReverseResponse reverse(@Valid @RequestBody ReverseRequest request) {
-        String reversed = stringService.reverseString(request.text());
+        String reversed = executionPolicy.runString(request.text().length(),
+                () -> stringService.reverseString(request.text()));
         return new ReverseResponse(reversed);
     }
 
@@ -40,17 +69,79 @@ public class StringController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ShiftResponse shift(@Valid @RequestBody ShiftRequest request) {
-        String shifted = stringService.shiftString(
+        String shifted = executionPolicy.runString(request.text().length(), () -> stringService.shiftString(
                 request.text(),
                 request.numOfShifts(),
                 request.direction()
-        );
+        ));
         return new ShiftResponse(shifted, request.numOfShifts(), request.direction());
     }
-}
 
+    @PostMapping(
+            value = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public BatchResponse batch(@Valid @RequestBody BatchRequest request) {
+        long totalChars = request.operations().stream()
+                .mapToLong(operation -> operation.text() == null ? 0 : operation.text().length())
+                .sum();
+        return executionPolicy.runString(totalChars, () -> stringBatchService.processBatch(request.operations()));
+    }
 
+    @PostMapping(
+            value = "/pipeline",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public PipelineResponse pipeline(@Valid @RequestBody PipelineRequest request) {
+        String result = executionPolicy.runString(request.text().length(),
+                () -> stringService.pipelineString(request.text(), request.steps()));
+        return new PipelineResponse(result, request.steps().size());
+    }
 
+    // Streaming variants: raw UTF-8 text in, raw UTF-8 text out, up to string.stream.max-bytes;
+    // tiered by the declared length, or as the largest allowed body when there is none
+    @PostMapping(
+            value = "/reverse/stream",
+            consumes = MediaType.TEXT_PLAIN_VALUE,
+            produces = MediaType.TEXT_PLAIN_VALUE
+    )
+    public void reverseStream(InputStream body, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long declaredLength = request.getContentLengthLong();
+        Reader input = reader(stringStreamService.limit(body, declaredLength));
+        response.setContentType(TEXT_PLAIN_UTF8);
+        executionPolicy.runStringIo(stringStreamService.expectedChars(declaredLength), () -> {
+            stringStreamService.reverseStream(input, writer(response));
+            return null;
+        });
+    }
 
+    @PostMapping(
+            value = "/shift/stream",
+            consumes = MediaType.TEXT_PLAIN_VALUE,
+            produces = MediaType.TEXT_PLAIN_VALUE
+    )
+    public void shiftStream(@RequestParam int numOfShifts,
+                            @RequestParam String direction,
+                            InputStream body,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        long declaredLength = request.getContentLengthLong();
+        Reader input = reader(stringStreamService.limit(body, declaredLength));
+        response.setContentType(TEXT_PLAIN_UTF8);
+        executionPolicy.runStringIo(stringStreamService.expectedChars(declaredLength), () -> {
+            stringStreamService.shiftStream(input, writer(response), numOfShifts, direction);
+            return null;
+        });
+    }
 
+    private static Reader reader(InputStream body) {
+        return new InputStreamReader(body, StandardCharsets.UTF_8);
+    }
 
+    private static Writer writer(HttpServletResponse response) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+}
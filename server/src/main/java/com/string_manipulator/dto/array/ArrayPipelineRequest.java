@@ -0,0 +1,23 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//steps run in order on one buffer; includeValues defaults to true, false returns only offsets and results
+public record ArrayPipelineRequest(
+        @NotNull(message = "Numbers list cannot be null")
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList,
+
+        @NotNull(message = "Steps cannot be null")
+        @NotEmpty(message = "Steps cannot be empty")
+        @Size(max = 20, message = "A pipeline cannot exceed 20 steps")
+        List<@Valid @NotNull(message = "Step cannot be null") ArrayPipelineStep> steps,
+
+        Boolean includeValues
+) {
+}
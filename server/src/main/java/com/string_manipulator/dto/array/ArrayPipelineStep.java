@@ -0,0 +1,37 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+//one stage of an array pipeline; separationType is read for separate, orderType for sort, sumMode for sum
+public record ArrayPipelineStep(
+        @NotBlank(message = "Operation cannot be blank")
+        @Pattern(
+                regexp = "(?i)^\\s*(separate|sort|sum|stats)\\s*$",
+                message = "Operation must be 'separate', 'sort', 'sum' or 'stats'."
+        )
+        String operation,
+
+        @Pattern(
+                regexp = "(?i)^\\s*(p\\s*a\\s*r\\s*i\\s*t\\s*y|s\\s*i\\s*g\\s*n|p|s)\\s*$",
+                message = "Separation type must represent 'parity', 'sign', 'p', or 's'."
+        )
+        String separationType,
+
+        @Pattern(
+                regexp = "(?i)^\\s*(a\\s*s\\s*c\\s*e\\s*n\\s*d\\s*i\\s*n\\s*g|" +
+                        "d\\s*e\\s*s\\s*c\\s*e\\s*n\\s*d\\s*i\\s*n\\s*g|a|d)\\s*$",
+                message = "Order type must represent 'ascending', 'descending', 'a', or 'd'."
+        )
+        String orderType,
+
+        //optional, only used for decimal input; defaults to compensated
+        @Pattern(
+                regexp = "(?i)^\\s*(c\\s*o\\s*m\\s*p\\s*e\\s*n\\s*s\\s*a\\s*t\\s*e\\s*d|" +
+                        "p\\s*a\\s*i\\s*r\\s*w\\s*i\\s*s\\s*e|" +
+                        "c|p)\\s*$",
+                message = "Sum mode must represent 'compensated', 'pairwise', 'c', or 'p'."
+        )
+        String sumMode
+) {
+}
@@ -0,0 +1,4 @@
+package com.string_manipulator.dto.array;
+
+// type is "int" or "double"; bytes is the off-heap memory the dataset holds
+public record DatasetInfo(String id, String type, int length, long bytes) {}
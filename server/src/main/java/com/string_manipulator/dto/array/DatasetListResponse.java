@@ -0,0 +1,6 @@
+package com.string_manipulator.dto.array;
+
+import java.util.List;
+
+// datasets are listed least recently used first, i.e. in eviction order
+public record DatasetListResponse(List<DatasetInfo> datasets, long usedBytes, long budgetBytes) {}
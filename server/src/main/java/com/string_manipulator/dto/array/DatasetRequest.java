@@ -0,0 +1,10 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.constraints.NotNull;
+
+public record DatasetRequest(
+        @NotNull(message = "Numbers list cannot be null")
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList
+) {
+}
@@ -0,0 +1,17 @@
+package com.string_manipulator.dto.array;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a {@code double[]} as a JSON array in one {@link JsonGenerator#writeArray(double[], int, int)} call,
+ * so response arrays go from the primitive array to the output stream without boxing.
+ */
+public class DoubleArraySerializer extends ValueSerializer<double[]> {
+
+    @Override
+    public void serialize(double[] value, JsonGenerator generator, SerializationContext context) {
+        generator.writeArray(value, 0, value.length);
+    }
+}
@@ -0,0 +1,19 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+//shared by /distinct and /frequencies; without sortByFrequency, values come in first-occurrence order
+public record FrequencyRequest(
+        @NotNull(message = "Numbers list cannot be null")
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList,
+
+        //optional, most frequent first; equal counts keep first-occurrence order
+        Boolean sortByFrequency,
+
+        //optional, keep only this many values
+        @Positive(message = "Limit must be positive")
+        Integer limit
+) {
+}
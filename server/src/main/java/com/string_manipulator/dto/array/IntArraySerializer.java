@@ -0,0 +1,17 @@
+package com.string_manipulator.dto.array;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a {@code int[]} as a JSON array in one {@link JsonGenerator#writeArray(int[], int, int)} call,
+ * so response arrays go from the primitive array to the output stream without boxing.
+ */
+public class IntArraySerializer extends ValueSerializer<int[]> {
+
+    @Override
+    public void serialize(int[] value, JsonGenerator generator, SerializationContext context) {
+        generator.writeArray(value, 0, value.length);
+    }
+}
@@ -0,0 +1,17 @@
+package com.string_manipulator.dto.array;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a {@code long[]} as a JSON array in one {@link JsonGenerator#writeArray(long[], int, int)} call,
+ * so response arrays go from the primitive array to the output stream without boxing.
+ */
+public class LongArraySerializer extends ValueSerializer<long[]> {
+
+    @Override
+    public void serialize(long[] value, JsonGenerator generator, SerializationContext context) {
+        generator.writeArray(value, 0, value.length);
+    }
+}
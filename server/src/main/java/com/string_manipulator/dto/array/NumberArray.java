@@ -0,0 +1,135 @@
+package com.string_manipulator.dto.array;
+
+import tools.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Arrays;
+
+/**
+ * The numbers of an array request, parsed straight into a primitive buffer by
+ * {@link NumberArrayDeserializer}. The buffer starts as {@code int[]} and is widened to
+ * {@code long[]} and then {@code double[]} the first time a value needs it, so {@link #type()}
+ * is the narrowest type that holds every element exactly (or as a double).
+ */
+@JsonDeserialize(using = NumberArrayDeserializer.class)
+public final class NumberArray {
+
+    public enum Type { INT, LONG, DOUBLE }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Type type = Type.INT;
+    private int[] ints = new int[INITIAL_CAPACITY];
+    private long[] longs;
+    private double[] doubles;
+    private int size;
+    private int nullCount;
+
+    public void addInt(int value) {
+        switch (type) {
+            case INT -> {
+                ensureCapacity();
+                ints[size++] = value;
+            }
+            case LONG -> addLong(value);
+            case DOUBLE -> addDouble(value);
+        }
+    }
+
+    public void addLong(long value) {
+        if (type == Type.INT) {
+            widenToLong();
+        }
+        if (type == Type.LONG) {
+            ensureCapacity();
+            longs[size++] = value;
+        } else {
+            addDouble(value);
+        }
+    }
+
+    public void addDouble(double value) {
+        if (type != Type.DOUBLE) {
+            widenToDouble();
+        }
+        ensureCapacity();
+        doubles[size++] = value;
+    }
+
+    // nulls are only counted, so validation can reject the request with a proper message
+    public void addNull() {
+        nullCount++;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nullCount() {
+        return nullCount;
+    }
+
+    /**
+     * The values as an exact-size {@code int[]}; only valid while {@link #type()} is {@link Type#INT}.
+     */
+    public int[] toIntArray() {
+        if (type != Type.INT) {
+            throw new IllegalStateException("Numbers were widened to " + type.name().toLowerCase());
+        }
+        return ints.length == size ? ints : Arrays.copyOf(ints, size);
+    }
+
+    /**
+     * The values as an exact-size {@code double[]}, converting int or long values if needed.
+     */
+    public double[] toDoubleArray() {
+        if (type == Type.DOUBLE) {
+            return doubles.length == size ? doubles : Arrays.copyOf(doubles, size);
+        }
+        double[] converted = new double[size];
+        for (int i = 0; i < size; i++) {
+            converted[i] = type == Type.INT ? ints[i] : longs[i];
+        }
+        return converted;
+    }
+
+    private void ensureCapacity() {
+        int capacity = switch (type) {
+            case INT -> ints.length;
+            case LONG -> longs.length;
+            case DOUBLE -> doubles.length;
+        };
+        if (size < capacity) {
+            return;
+        }
+        int grown = Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+        switch (type) {
+            case INT -> ints = Arrays.copyOf(ints, grown);
+            case LONG -> longs = Arrays.copyOf(longs, grown);
+            case DOUBLE -> doubles = Arrays.copyOf(doubles, grown);
+        }
+    }
+
+    private void widenToLong() {
+        longs = new long[Math.max(ints.length, INITIAL_CAPACITY)];
+        for (int i = 0; i < size; i++) {
+            longs[i] = ints[i];
+        }
+        ints = null;
+        type = Type.LONG;
+    }
+
+    private void widenToDouble() {
+        int capacity = type == Type.INT ? ints.length : longs.length;
+        doubles = new double[Math.max(capacity, INITIAL_CAPACITY)];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = type == Type.INT ? ints[i] : longs[i];
+        }
+        ints = null;
+        longs = null;
+        type = Type.DOUBLE;
+    }
+}
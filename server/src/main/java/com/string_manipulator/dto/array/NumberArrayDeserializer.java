@@ -0,0 +1,40 @@
+package com.string_manipulator.dto.array;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Reads a JSON array of numbers token by token into a {@link NumberArray}, without creating
+ * a {@code List} or a boxed number per element. Each value goes in as the narrowest type the
+ * parser reports, which is how the array learns its element type during the same pass.
+ */
+public class NumberArrayDeserializer extends ValueDeserializer<NumberArray> {
+
+    @Override
+    public NumberArray deserialize(JsonParser parser, DeserializationContext context) {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (NumberArray) context.handleUnexpectedToken(NumberArray.class, parser);
+        }
+
+        NumberArray numbers = new NumberArray();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            switch (token) {
+                case VALUE_NUMBER_INT -> {
+                    switch (parser.getNumberType()) {
+                        case INT -> numbers.addInt(parser.getIntValue());
+                        case LONG -> numbers.addLong(parser.getLongValue());
+                        default -> numbers.addDouble(parser.getDoubleValue()); // BigInteger
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> numbers.addDouble(parser.getDoubleValue());
+                case VALUE_NULL -> numbers.addNull();
+                default -> context.reportInputMismatch(NumberArray.class,
+                        "Expected a number in the numbers list but found %s", token);
+            }
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,35 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class NumberArrayValidator implements ConstraintValidator<ValidNumbers, NumberArray> {
+
+    private int max;
+
+    @Override
+    public void initialize(ValidNumbers constraint) {
+        this.max = constraint.max();
+    }
+
+    @Override
+    public boolean isValid(NumberArray numbers, ConstraintValidatorContext context) {
+        if (numbers == null) {
+            return true;
+        }
+        String message = null;
+        if (numbers.nullCount() > 0) {
+            message = "Number cannot be null";
+        } else if (numbers.size() == 0) {
+            message = "Numbers list cannot be empty";
+        } else if (numbers.size() > max) {
+            message = "Numbers list cannot exceed " + max + " elements";
+        }
+        if (message == null) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//modulus is required for modulo, boundaries (ascending) for range and buckets for quantile; the others are ignored
+public record PartitionRequest(
+        @NotNull(message = "Numbers list cannot be null")
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList,
+
+        @NotBlank(message = "Partition type cannot be blank")
+        @Pattern(
+                regexp = "(?i)^\\s*(m\\s*o\\s*d\\s*u\\s*l\\s*o|" +
+                        "r\\s*a\\s*n\\s*g\\s*e|" +
+                        "q\\s*u\\s*a\\s*n\\s*t\\s*i\\s*l\\s*e|" +
+                        "p\\s*a\\s*r\\s*i\\s*t\\s*y|" +
+                        "s\\s*i\\s*g\\s*n|" +
+                        "m|r|q|p|s)\\s*$",
+                message = "Partition type must represent 'modulo', 'range', 'quantile', 'parity', 'sign', " +
+                        "'m', 'r', 'q', 'p', or 's'."
+        )
+        String partitionType,
+
+        @Positive(message = "Modulus must be positive")
+        @Max(value = 1024, message = "Modulus cannot exceed 1024")
+        Integer modulus,
+
+        @Size(min = 1, max = 1023, message = "Boundaries must have between 1 and 1023 entries")
+        List<@NotNull(message = "Boundary cannot be null") Double> boundaries,
+
+        @Positive(message = "Bucket count must be positive")
+        @Max(value = 1024, message = "Bucket count cannot exceed 1024")
+        Integer buckets
+) {
+}
@@ -0,0 +1,32 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//every selection is optional, but at least one must be given; kth is 1-based (1 = smallest)
+public record SelectRequest(
+        @NotNull(message = "Numbers list cannot be null")
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList,
+
+        @Positive(message = "Top k must be positive")
+        Integer topK,
+
+        @Positive(message = "Bottom k must be positive")
+        Integer bottomK,
+
+        @Positive(message = "K-th position must be positive")
+        Integer kth,
+
+        @Size(max = 100, message = "Percentiles cannot exceed 100 entries")
+        List<@NotNull(message = "Percentile cannot be null")
+        @DecimalMin(value = "0.0", message = "Percentile must be between 0 and 100")
+        @DecimalMax(value = "100.0", message = "Percentile must be between 0 and 100")
+                Double> percentiles
+) {
+}
@@ -1,16 +1,20 @@
 package com.string_manipulator.dto.array;
 
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Size;
-
-import java.util.List;
+import jakarta.validation.constraints.Pattern;
 
 public record SumRequest(
         @NotNull(message = "Numbers list cannot be null")
-        @NotEmpty(message = "Numbers list cannot be empty")
-        @Size(min = 1, message = "Numbers list must have at least one element")
-        @Size(max = 1000, message = "Numbers list cannot exceed 1000 elements")
-        List<@NotNull(message = "Number cannot be null") Number> numbersList
+        @ValidNumbers(max = 10000000)
+        NumberArray numbersList,
+
+        //optional, only used for decimal input; defaults to compensated
+        @Pattern(
+                regexp = "(?i)^\\s*(c\\s*o\\s*m\\s*p\\s*e\\s*n\\s*s\\s*a\\s*t\\s*e\\s*d|" +
+                        "p\\s*a\\s*i\\s*r\\s*w\\s*i\\s*s\\s*e|" +
+                        "c|p)\\s*$",
+                message = "Sum mode must represent 'compensated', 'pairwise', 'c', or 'p'."
+        )
+        String sumMode
 ) {
 }
\ No newline at end of file
@@ -1,5 +0,0 @@
-package com.string_manipulator.dto.array;
-
-
-//double to simplify routing instead of having separate record for different data types
-public record SumResponse(double sum) {}
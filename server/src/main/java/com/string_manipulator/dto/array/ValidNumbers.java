@@ -0,0 +1,27 @@
+package com.string_manipulator.dto.array;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @NotEmpty}, {@code @Size(max)} and "no null elements" for a {@link NumberArray},
+ * which Bean Validation's built-in constraints cannot see into. A null array is left to {@code @NotNull}.
+ */
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = NumberArrayValidator.class)
+public @interface ValidNumbers {
+
+    int max();
+
+    String message() default "Numbers list is invalid";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,8 @@
+package com.string_manipulator.dto.array.frequency_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+public record DoubleDistinctResponse(
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] values,
+        int distinctCount) {}
@@ -0,0 +1,10 @@
+package com.string_manipulator.dto.array.frequency_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+public record DoubleFrequencyResponse(
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] counts,
+        int distinctCount) {}
@@ -0,0 +1,9 @@
+package com.string_manipulator.dto.array.frequency_responses;
+
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+//distinctCount is the number of distinct values in the whole input, even when values is limited
+public record IntDistinctResponse(
+        @JsonSerialize(using = IntArraySerializer.class) int[] values,
+        int distinctCount) {}
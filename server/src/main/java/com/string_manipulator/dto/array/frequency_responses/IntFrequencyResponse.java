@@ -0,0 +1,10 @@
+package com.string_manipulator.dto.array.frequency_responses;
+
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+//counts[i] is how often values[i] occurs
+public record IntFrequencyResponse(
+        @JsonSerialize(using = IntArraySerializer.class) int[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] counts,
+        int distinctCount) {}
@@ -0,0 +1,11 @@
+package com.string_manipulator.dto.array.partition_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+public record DoublePartitionResponse(
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] offsets,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] boundaries,
+        String partitionType) {}
@@ -0,0 +1,12 @@
+package com.string_manipulator.dto.array.partition_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+//bucket b is values[offsets[b]..offsets[b + 1]); boundaries are only set for range and quantile partitions
+public record IntPartitionResponse(
+        @JsonSerialize(using = IntArraySerializer.class) int[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] offsets,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] boundaries,
+        String partitionType) {}
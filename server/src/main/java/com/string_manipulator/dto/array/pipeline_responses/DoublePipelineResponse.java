@@ -0,0 +1,15 @@
+package com.string_manipulator.dto.array.pipeline_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import com.string_manipulator.dto.array.stats_responses.DoubleStatsResponse;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record DoublePipelineResponse(
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] offsets,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] sums,
+        List<DoubleStatsResponse> stats,
+        int stepsApplied) {}
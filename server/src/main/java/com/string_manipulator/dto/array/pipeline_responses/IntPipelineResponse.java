@@ -0,0 +1,16 @@
+package com.string_manipulator.dto.array.pipeline_responses;
+
+import com.string_manipulator.dto.array.IntArraySerializer;
+import com.string_manipulator.dto.array.LongArraySerializer;
+import com.string_manipulator.dto.array.stats_responses.IntStatsResponse;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+//group g is values[offsets[g]..offsets[g + 1]); sums and stats hold one entry per group (stats is null for an empty group)
+public record IntPipelineResponse(
+        @JsonSerialize(using = IntArraySerializer.class) int[] values,
+        @JsonSerialize(using = IntArraySerializer.class) int[] offsets,
+        @JsonSerialize(using = LongArraySerializer.class) long[] sums,
+        List<IntStatsResponse> stats,
+        int stepsApplied) {}
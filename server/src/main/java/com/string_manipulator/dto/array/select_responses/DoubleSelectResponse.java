@@ -0,0 +1,10 @@
+package com.string_manipulator.dto.array.select_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+public record DoubleSelectResponse(
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] topK,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] bottomK,
+        Double kth,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] percentiles) {}
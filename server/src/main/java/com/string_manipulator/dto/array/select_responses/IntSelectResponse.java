@@ -0,0 +1,12 @@
+package com.string_manipulator.dto.array.select_responses;
+
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+//fields that were not requested stay null and are left out; percentiles are interpolated, so always double
+public record IntSelectResponse(
+        @JsonSerialize(using = IntArraySerializer.class) int[] topK,
+        @JsonSerialize(using = IntArraySerializer.class) int[] bottomK,
+        Integer kth,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] percentiles) {}
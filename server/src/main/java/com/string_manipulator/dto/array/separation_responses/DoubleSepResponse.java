@@ -1,8 +1,9 @@
 package com.string_manipulator.dto.array.separation_responses;
 
-import java.util.List;
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 public record DoubleSepResponse(
-        List<Double> firstGroup,
-        List<Double> secondGroup,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] firstGroup,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] secondGroup,
         String separationType) {}
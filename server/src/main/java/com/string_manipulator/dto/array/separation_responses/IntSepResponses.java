@@ -1,8 +1,9 @@
 package com.string_manipulator.dto.array.separation_responses;
 
-import java.util.List;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 public record IntSepResponses(
-        List<Integer> firstGroup,
-        List<Integer> secondGroup,
+        @JsonSerialize(using = IntArraySerializer.class) int[] firstGroup,
+        @JsonSerialize(using = IntArraySerializer.class) int[] secondGroup,
         String separationType) {}
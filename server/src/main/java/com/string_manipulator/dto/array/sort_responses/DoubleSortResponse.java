@@ -1,8 +1,8 @@
 package com.string_manipulator.dto.array.sort_responses;
 
-
-import java.util.List;
+import com.string_manipulator.dto.array.DoubleArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 public record DoubleSortResponse(
-        List<Double> sorted,
+        @JsonSerialize(using = DoubleArraySerializer.class) double[] sorted,
         String orderType) {}
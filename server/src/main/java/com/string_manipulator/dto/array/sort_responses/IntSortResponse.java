@@ -1,7 +1,8 @@
 package com.string_manipulator.dto.array.sort_responses;
 
-import java.util.List;
+import com.string_manipulator.dto.array.IntArraySerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 public record IntSortResponse(
-        List<Integer> sorted,
+        @JsonSerialize(using = IntArraySerializer.class) int[] sorted,
         String orderType) {}
@@ -0,0 +1,15 @@
+package com.string_manipulator.dto.array.stats_responses;
+
+//a value with a fractional part is odd and -0.0 is negative, like /separate
+public record DoubleStatsResponse(
+        int count,
+        double sum,
+        double min,
+        double max,
+        double mean,
+        double variance,
+        double stddev,
+        int evenCount,
+        int oddCount,
+        int positiveCount,
+        int negativeCount) {}
@@ -0,0 +1,15 @@
+package com.string_manipulator.dto.array.stats_responses;
+
+//variance and stddev are population figures; zero counts as positive, like /separate
+public record IntStatsResponse(
+        int count,
+        long sum,
+        int min,
+        int max,
+        double mean,
+        double variance,
+        double stddev,
+        int evenCount,
+        int oddCount,
+        int positiveCount,
+        int negativeCount) {}
@@ -0,0 +1,3 @@
+package com.string_manipulator.dto.array.sum_responses;
+
+public record DoubleSumResponse(double sum) {}
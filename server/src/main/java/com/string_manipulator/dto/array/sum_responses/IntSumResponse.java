@@ -0,0 +1,4 @@
+package com.string_manipulator.dto.array.sum_responses;
+
+// long, so sums past 2^53 (reachable with 10M ints) come back exact instead of rounded through a double
+public record IntSumResponse(long sum) {}
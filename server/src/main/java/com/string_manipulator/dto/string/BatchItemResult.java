@@ -0,0 +1,18 @@
+package com.string_manipulator.dto.string;
+
+import java.util.List;
+
+//exactly one of result / errors is set
+public record BatchItemResult(
+        int index,
+        String result,
+        List<String> errors) {
+
+    public static BatchItemResult success(int index, String result) {
+        return new BatchItemResult(index, result, null);
+    }
+
+    public static BatchItemResult failure(int index, List<String> errors) {
+        return new BatchItemResult(index, null, errors);
+    }
+}
@@ -0,0 +1,30 @@
+package com.string_manipulator.dto.string;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+//one reverse or shift inside a batch; numOfShifts and direction are only read for shift
+public record BatchOperation(
+        @NotBlank(message = "Operation cannot be blank")
+        @Pattern(
+                regexp = "(?i)^\\s*(reverse|shift)\\s*$",
+                message = "Operation must be 'reverse' or 'shift'."
+        )
+        String operation,
+
+        @NotBlank(message = "Text cannot be blank")
+        @Size(max = 10000, message = "Text cannot exceed 10000 characters")
+        String text,
+
+        @PositiveOrZero(message = "Number of shifts cannot be negative")
+        Integer numOfShifts,
+
+        @Pattern(
+                regexp = "(?i)^\\s*(l\\s*e\\s*f\\s*t|r\\s*i\\s*g\\s*h\\s*t|l|r)\\s*$",
+                message = "Direction must represent 'left', 'right', 'l', or 'r'."
+        )
+        String direction
+) {
+}
@@ -0,0 +1,16 @@
+package com.string_manipulator.dto.string;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//items are validated one by one in the service so a bad item does not fail the whole batch
+public record BatchRequest(
+        @NotNull(message = "Operations cannot be null")
+        @NotEmpty(message = "Operations cannot be empty")
+        @Size(max = 500, message = "A batch cannot exceed 500 operations")
+        List<@NotNull(message = "Operation cannot be null") BatchOperation> operations
+) {
+}
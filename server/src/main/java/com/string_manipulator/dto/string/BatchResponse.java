@@ -0,0 +1,6 @@
+package com.string_manipulator.dto.string;
+
+import java.util.List;
+
+//results are in the same order as the request's operations
+public record BatchResponse(List<BatchItemResult> results) {}
@@ -0,0 +1,22 @@
+package com.string_manipulator.dto.string;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//steps run in order on the same text
+public record PipelineRequest(
+        @NotBlank(message = "Text cannot be blank")
+        @Size(max = 10000, message = "Text cannot exceed 10000 characters")
+        String text,
+
+        @NotNull(message = "Steps cannot be null")
+        @NotEmpty(message = "Steps cannot be empty")
+        @Size(max = 100, message = "A pipeline cannot exceed 100 steps")
+        List<@Valid @NotNull(message = "Step cannot be null") PipelineStep> steps
+) {
+}
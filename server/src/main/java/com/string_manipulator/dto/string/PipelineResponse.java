@@ -0,0 +1,5 @@
+package com.string_manipulator.dto.string;
+
+public record PipelineResponse(
+        String result,
+        int stepsApplied) {}
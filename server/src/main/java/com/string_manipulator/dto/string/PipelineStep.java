@@ -0,0 +1,28 @@
+package com.string_manipulator.dto.string;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+//one step of a pipeline; numOfShifts and direction are read for shift, maxGraphemes for truncate
+public record PipelineStep(
+        @NotBlank(message = "Operation cannot be blank")
+        @Pattern(
+                regexp = "(?i)^\\s*(reverse|shift|truncate)\\s*$",
+                message = "Operation must be 'reverse', 'shift' or 'truncate'."
+        )
+        String operation,
+
+        @PositiveOrZero(message = "Number of shifts cannot be negative")
+        Integer numOfShifts,
+
+        @Pattern(
+                regexp = "(?i)^\\s*(l\\s*e\\s*f\\s*t|r\\s*i\\s*g\\s*h\\s*t|l|r)\\s*$",
+                message = "Direction must represent 'left', 'right', 'l', or 'r'."
+        )
+        String direction,
+
+        @PositiveOrZero(message = "Max graphemes cannot be negative")
+        Integer maxGraphemes
+) {
+}
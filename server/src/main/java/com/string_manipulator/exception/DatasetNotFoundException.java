@@ -0,0 +1,9 @@
+package com.string_manipulator.exception;
+
+// Unknown, deleted or evicted dataset id; mapped to 404
+public class DatasetNotFoundException extends RuntimeException {
+
+    public DatasetNotFoundException(String id) {
+        super("Dataset not found: " + id);
+    }
+}
@@ -3,16 +3,20 @@ package com.string_manipulator.exception;
 import com.string_manipulator.dto.error.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.util.List;
@@ -49,7 +53,7 @@ public class GlobalExceptionHandler {
                 details
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return jsonResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     // Client errors from malformed JSON (400) - handled by @ControllerAdvice
@@ -69,7 +73,7 @@ public class GlobalExceptionHandler {
                 List.of("Invalid JSON format")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return jsonResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     // Business logic errors (400) - handled by @ControllerAdvice when they come from code
@@ -91,7 +95,7 @@ public class GlobalExceptionHandler {
                 List.of(ex.getMessage())
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return jsonResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(IllegalStateException.class)
@@ -110,10 +114,52 @@ public class GlobalExceptionHandler {
                 "Service state failed",
                 List.of(ex.getMessage())
         );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return jsonResponse(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
 
+    @ExceptionHandler(DatasetNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleDatasetNotFound(
+            DatasetNotFoundException ex, WebRequest request) {
+
+        String requestUri = request.getDescription(false)
+                .replace("uri=", "");
+
+        logger.warn("Dataset lookup failed - URI: {}, Error: {}",
+                requestUri, ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                "Dataset does not exist or was evicted",
+                List.of(ex.getMessage())
+        );
+        return jsonResponse(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(
+            ServiceOverloadedException ex, WebRequest request) {
+
+        String requestUri = request.getDescription(false)
+                .replace("uri=", "");
+
+        logger.warn("Request shed - URI: {}, Error: {}",
+                requestUri, ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is busy with other large requests",
+                List.of(ex.getMessage())
+        );
+        // the bulk tier drains in seconds, so ask the client to come back soon rather than give up
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleUnexpectedErrors(Exception ex, WebRequest request) throws Exception {
         if (isSpringFrameworkException(ex)) {
@@ -132,14 +178,23 @@ public class GlobalExceptionHandler {
                 List.of("Please try again later")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return jsonResponse(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // The content type is fixed so errors from text/plain and octet-stream endpoints are still written as JSON
+    private ResponseEntity<ErrorResponse> jsonResponse(ErrorResponse errorResponse, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 
     private boolean isSpringFrameworkException(Exception ex) {
         return ex instanceof HttpRequestMethodNotSupportedException ||
                 ex instanceof NoHandlerFoundException ||
                 ex instanceof HttpMediaTypeNotSupportedException ||
-                ex instanceof HttpMediaTypeNotAcceptableException;
+                ex instanceof HttpMediaTypeNotAcceptableException ||
+                ex instanceof MissingServletRequestParameterException ||
+                ex instanceof MethodArgumentTypeMismatchException;
     }
 
 }
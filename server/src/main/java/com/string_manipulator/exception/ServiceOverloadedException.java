@@ -0,0 +1,14 @@
+package com.string_manipulator.exception;
+
+// The server cannot take the request right now (the bulk tier or the dataset memory is full, or a
+// wait was cut short by a shutdown); mapped to 503 so the client retries later
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.string_manipulator.exception;
+
+// Work handed to an execution tier failed in a way that is not the client's fault; mapped to 500
+public class TaskExecutionException extends RuntimeException {
+
+    public TaskExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
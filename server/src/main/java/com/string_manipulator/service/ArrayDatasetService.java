@@ -0,0 +1,153 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.dto.array.DatasetInfo;
+import com.string_manipulator.dto.array.DatasetListResponse;
+import com.string_manipulator.exception.DatasetNotFoundException;
+import com.string_manipulator.exception.ServiceOverloadedException;
+import com.string_manipulator.util.OffHeapArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Named arrays uploaded once and kept off-heap, so repeated sum/sort/separate calls skip
+ * the upload and parsing. The registry holds at most {@code memoryBudget} bytes; storing past
+ * it evicts the least recently used datasets first. Every lookup counts as a use.
+ * <p>
+ * An upload reserves its bytes under the lock before the buffer is allocated, so concurrent
+ * uploads can never hold more than the budget between them. Delete and eviction return bytes to
+ * the budget at once, but the native memory itself is freed only when the buffer is garbage
+ * collected: a request may still be copying it out, so it cannot be freed eagerly. When direct
+ * memory runs short, {@code allocateDirect} triggers that collection itself before giving up, so
+ * run the JVM with {@code -XX:MaxDirectMemorySize} a little above the budget; an upload that
+ * still finds no room gets a 503.
+ */
+@Service
+public class ArrayDatasetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArrayDatasetService.class);
+
+    private final long memoryBudget;
+    // access order: iteration starts at the least recently used dataset
+    private final LinkedHashMap<String, OffHeapArray> datasets = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    @Autowired
+    public ArrayDatasetService(@Value("${array.datasets.memory-budget:268435456}") long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**************************************************************************/
+
+    public DatasetInfo store(int[] values) {
+        long bytes = (long) values.length * Integer.BYTES;
+        reserve(bytes);
+        return register(allocate(bytes, () -> OffHeapArray.of(values)));
+    }
+
+    public DatasetInfo store(double[] values) {
+        long bytes = (long) values.length * Double.BYTES;
+        reserve(bytes);
+        return register(allocate(bytes, () -> OffHeapArray.of(values)));
+    }
+
+    // The bytes count as used from here on, before any native memory is taken
+    private synchronized void reserve(long bytes) {
+        requireWithinBudget(bytes);
+        evictUntilFree(bytes);
+        if (usedBytes + bytes > memoryBudget) {
+            // what is left is reserved by uploads still copying their values
+            logger.warn("Dataset of {} bytes rejected, {} of {} budget bytes reserved", bytes, usedBytes, memoryBudget);
+            throw new ServiceOverloadedException("Dataset memory is taken by uploads in progress, retry shortly");
+        }
+        usedBytes += bytes;
+    }
+
+    private synchronized void release(long bytes) {
+        usedBytes -= bytes;
+    }
+
+    // The copy runs outside the lock; a failed allocation hands its reservation back
+    private OffHeapArray allocate(long bytes, Supplier<OffHeapArray> allocation) {
+        try {
+            return allocation.get();
+        } catch (OutOfMemoryError e) {
+            release(bytes);
+            logger.warn("Direct memory exhausted while storing a dataset of {} bytes: {}", bytes, e.getMessage());
+            throw new ServiceOverloadedException("Not enough native memory for the dataset right now, retry shortly", e);
+        }
+    }
+
+    private synchronized DatasetInfo register(OffHeapArray array) {
+        String id = UUID.randomUUID().toString();
+        datasets.put(id, array);
+        DatasetInfo info = describe(id, array);
+        logger.info("Stored dataset {}, {} of {} budget bytes in use", info, usedBytes, memoryBudget);
+        return info;
+    }
+
+    /**************************************************************************/
+
+    public synchronized OffHeapArray get(String id) {
+        OffHeapArray array = datasets.get(id);
+        if (array == null) {
+            throw new DatasetNotFoundException(id);
+        }
+        return array;
+    }
+
+    public synchronized DatasetInfo info(String id) {
+        return describe(id, get(id));
+    }
+
+    public synchronized DatasetListResponse list() {
+        List<DatasetInfo> infos = new ArrayList<>(datasets.size());
+        for (Map.Entry<String, OffHeapArray> entry : datasets.entrySet()) {
+            infos.add(describe(entry.getKey(), entry.getValue()));
+        }
+        return new DatasetListResponse(infos, usedBytes, memoryBudget);
+    }
+
+    public synchronized void delete(String id) {
+        OffHeapArray removed = datasets.remove(id);
+        if (removed == null) {
+            throw new DatasetNotFoundException(id);
+        }
+        usedBytes -= removed.byteSize();
+        logger.info("Deleted dataset {}, {} bytes returned to the budget", id, removed.byteSize());
+    }
+
+    /**************************************************************************/
+
+    private void requireWithinBudget(long bytes) {
+        if (bytes > memoryBudget) {
+            logger.warn("Dataset of {} bytes rejected, budget is {} bytes", bytes, memoryBudget);
+            throw new IllegalArgumentException("Dataset of " + bytes
+                    + " bytes exceeds the dataset memory budget of " + memoryBudget + " bytes");
+        }
+    }
+
+    private void evictUntilFree(long bytes) {
+        Iterator<Map.Entry<String, OffHeapArray>> eldest = datasets.entrySet().iterator();
+        while (usedBytes + bytes > memoryBudget && eldest.hasNext()) {
+            Map.Entry<String, OffHeapArray> entry = eldest.next();
+            usedBytes -= entry.getValue().byteSize();
+            eldest.remove();
+            logger.info("Evicted least recently used dataset {} ({} bytes)", entry.getKey(), entry.getValue().byteSize());
+        }
+    }
+
+    private static DatasetInfo describe(String id, OffHeapArray array) {
+        return new DatasetInfo(id, array.isInt() ? "int" : "double", array.length(), array.byteSize());
+    }
+}
@@ -1,14 +1,37 @@
 package com.string_manipulator.service;
 
-import com.string_manipulator.util.SeparateArray;
-import com.string_manipulator.util.SortingArray;
+import com.string_manipulator.dto.array.ArrayPipelineStep;
+import com.string_manipulator.dto.array.frequency_responses.DoubleDistinctResponse;
+import com.string_manipulator.dto.array.frequency_responses.DoubleFrequencyResponse;
+import com.string_manipulator.dto.array.frequency_responses.IntDistinctResponse;
+import com.string_manipulator.dto.array.frequency_responses.IntFrequencyResponse;
+import com.string_manipulator.dto.array.partition_responses.DoublePartitionResponse;
+import com.string_manipulator.dto.array.partition_responses.IntPartitionResponse;
+import com.string_manipulator.dto.array.pipeline_responses.DoublePipelineResponse;
+import com.string_manipulator.dto.array.pipeline_responses.IntPipelineResponse;
+import com.string_manipulator.dto.array.select_responses.DoubleSelectResponse;
+import com.string_manipulator.dto.array.select_responses.IntSelectResponse;
+import com.string_manipulator.dto.array.stats_responses.DoubleStatsResponse;
+import com.string_manipulator.dto.array.stats_responses.IntStatsResponse;
+import com.string_manipulator.util.FrequencyCounter;
+import com.string_manipulator.util.PartitionEngine;
+import com.string_manipulator.util.SelectEngine;
+import com.string_manipulator.util.SortEngine;
+import com.string_manipulator.util.sum_logic.ArrayStatistics;
 import com.string_manipulator.util.sum_logic.DoubleSumArray;
-import com.string_manipulator.util.sum_logic.RecursiveSumArray;
+import com.string_manipulator.util.sum_logic.IntSumArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 public class ArrayService {
@@ -18,28 +41,102 @@ public class ArrayService {
     private static final Logger logger = LoggerFactory.getLogger(ArrayService.class);
     private static final String ASCENDING = "ascending";
     private static final String DESCENDING = "descending";// Parameter normalization methods
+    private static final String COMPENSATED = "compensated";
+    private static final String PAIRWISE = "pairwise";
+    private static final String MODULO = "modulo";
+    private static final String RANGE = "range";
+    private static final String QUANTILE = "quantile";
+
+    // double arrays at least this long are summed on the common ForkJoinPool
+    private final int sumParallelThreshold;
+    // arrays at least this long are sorted ascending with Arrays.parallelSort
+    private final int sortParallelThreshold;
+    // arrays at least this long are described on the common ForkJoinPool
+    private final int statsParallelThreshold;
+    // arrays at least this long are separated / partitioned on the common ForkJoinPool
+    private final int partitionParallelThreshold;
+
+    @Autowired
+    public ArrayService(@Value("${array.sum.parallel-threshold:100000}") int sumParallelThreshold,
+                        @Value("${array.sort.parallel-threshold:262144}") int sortParallelThreshold,
+                        @Value("${array.stats.parallel-threshold:100000}") int statsParallelThreshold,
+                        @Value("${array.partition.parallel-threshold:262144}") int partitionParallelThreshold) {
+        this.sumParallelThreshold = sumParallelThreshold;
+        this.sortParallelThreshold = sortParallelThreshold;
+        this.statsParallelThreshold = statsParallelThreshold;
+        this.partitionParallelThreshold = partitionParallelThreshold;
+    }
 
     /**************************************************************************/
 
-    public int sumArray(int[] arrayToSum) {
+    // Summed in long lanes, so the result is exact for any int[] the JVM can hold
+    public long sumArray(int[] arrayToSum) {
         logger.info("Entering IntSum with input of length: {}", arrayToSum.length);
         validateArray(arrayToSum);
         if (arrayToSum.length == 1) {
             return arrayToSum[0];
         }
-        int result = RecursiveSumArray.findSum(arrayToSum, arrayToSum.length);
+        long result = IntSumArray.findSum(arrayToSum);
         logger.info("Exiting IntSum with result: {}", result);
         return result;
     }
 
     public double sumArray(double[] arrayToSum) {
-        logger.info("Entering DoubleSum with input of length: {}", arrayToSum.length);
+        return sumArray(arrayToSum, COMPENSATED);
+    }
+
+    // Both modes give the same bits whether they run sequentially or in parallel
+    public double sumArray(double[] arrayToSum, String sumMode) {
+        logger.info("Entering DoubleSum with input of length: {} and sumMode {}", arrayToSum.length, sumMode);
         validateArray(arrayToSum);
         if (arrayToSum.length == 1) {
             return arrayToSum[0];
         }
 
-        double result = DoubleSumArray.findSum(arrayToSum, arrayToSum.length);
+        String normalizedMode = sumMode == null ? COMPENSATED : normalizeSumMode(sumMode);
+        boolean parallel = arrayToSum.length >= sumParallelThreshold;
+        double result;
+        if (PAIRWISE.equals(normalizedMode)) {
+            result = parallel
+                    ? DoubleSumArray.pairwiseSum(arrayToSum, ForkJoinPool.commonPool())
+                    : DoubleSumArray.pairwiseSum(arrayToSum);
+        } else {
+            result = parallel
+                    ? DoubleSumArray.compensatedSum(arrayToSum, ForkJoinPool.commonPool())
+                    : DoubleSumArray.compensatedSum(arrayToSum);
+        }
+        logger.info("Exiting DoubleSum with result: {}", result);
+        return result;
+    }
+
+    // Buffer overloads read a dataset in place, with the same checks and the same result bits as the arrays
+    public long sumArray(IntBuffer valuesToSum) {
+        logger.info("Entering IntSum with buffer of length: {}", valuesToSum.limit());
+        validateArray(valuesToSum);
+        long result = IntSumArray.findSum(valuesToSum);
+        logger.info("Exiting IntSum with result: {}", result);
+        return result;
+    }
+
+    public double sumArray(DoubleBuffer valuesToSum, String sumMode) {
+        logger.info("Entering DoubleSum with buffer of length: {} and sumMode {}", valuesToSum.limit(), sumMode);
+        validateArray(valuesToSum);
+        if (valuesToSum.limit() == 1) {
+            return valuesToSum.get(0);
+        }
+
+        String normalizedMode = sumMode == null ? COMPENSATED : normalizeSumMode(sumMode);
+        boolean parallel = valuesToSum.limit() >= sumParallelThreshold;
+        double result;
+        if (PAIRWISE.equals(normalizedMode)) {
+            result = parallel
+                    ? DoubleSumArray.pairwiseSum(valuesToSum, ForkJoinPool.commonPool())
+                    : DoubleSumArray.pairwiseSum(valuesToSum);
+        } else {
+            result = parallel
+                    ? DoubleSumArray.compensatedSum(valuesToSum, ForkJoinPool.commonPool())
+                    : DoubleSumArray.compensatedSum(valuesToSum);
+        }
         logger.info("Exiting DoubleSum with result: {}", result);
         return result;
     }
@@ -47,13 +144,18 @@ public class ArrayService {
     /**************************************************************************/
 
     public int[] sortArray(int[] arrayToSort, String orderType) {
+        return sortArray(arrayToSort, orderType, false);
+    }
+
+    // inPlace sorts the caller's array and returns it, for callers that no longer need the input order
+    public int[] sortArray(int[] arrayToSort, String orderType, boolean inPlace) {
         logger.info("Entering IntSort with input of length {} and orderType {}",
                 arrayToSort.length, orderType); //null can be thrown if the array is null
         try {
             validateArray(arrayToSort);
             String normalizedOrder = normalizeOrderType(orderType);
             logger.info("Exiting IntSort successful");
-            return handleSorting(arrayToSort, normalizedOrder);
+            return handleSorting(arrayToSort, normalizedOrder, inPlace);
         } catch (IllegalArgumentException e) {
             //let business rule exceptions propagate unchanged
             throw e;  // Just re-throw, don't change message
@@ -65,13 +167,17 @@ public class ArrayService {
     }
 
     public double[] sortArray(double[] arrayToSort, String orderType) {
+        return sortArray(arrayToSort, orderType, false);
+    }
+
+    public double[] sortArray(double[] arrayToSort, String orderType, boolean inPlace) {
         logger.info("Entering DoubleSort with input of length {} and orderType {}",
                 arrayToSort.length, orderType);
         try {
             validateArray(arrayToSort);
             String normalizedOrder = normalizeOrderType(orderType);
             logger.info("Exiting DoubleSort successful");
-            return handleSorting(arrayToSort, normalizedOrder);
+            return handleSorting(arrayToSort, normalizedOrder, inPlace);
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -83,13 +189,13 @@ public class ArrayService {
 
     /**************************************************************************/
 
-    public SeparationResult<Integer> separateArray(int[] arrayToPart, String separationType) {
+    public IntSeparationResult separateArray(int[] arrayToPart, String separationType) {
         logger.info("Entering IntSeparate with input of length {} and separationType {}",
                 arrayToPart.length, separationType);
         try {
             validateArray(arrayToPart);
             String normalizedSeparation = normalizeSeparationType(separationType);
-            SeparationResult<Integer> result = handleSeparation(arrayToPart, normalizedSeparation);
+            IntSeparationResult result = handleSeparation(arrayToPart, normalizedSeparation);
             logger.info("Exiting IntSeparate successfully with result: {}", result);
             return result;
         } catch (IllegalArgumentException e) {
@@ -101,13 +207,13 @@ public class ArrayService {
         }
     }
 
-    public SeparationResult<Double> separateArray(double[] arrayToPart, String separationType) {
+    public DoubleSeparationResult separateArray(double[] arrayToPart, String separationType) {
         logger.info("Entering DoubleSeparate with input of length {} and separationType {}",
                 arrayToPart.length, separationType);
         try {
             validateArray(arrayToPart);
             String normalizedSeparation = normalizeSeparationType(separationType);
-            SeparationResult<Double> result = handleSeparation(arrayToPart, normalizedSeparation);
+            DoubleSeparationResult result = handleSeparation(arrayToPart, normalizedSeparation);
             logger.info("Exiting DoubleSeparate successfully with result: {}", result);
             return result;
         } catch (IllegalArgumentException e) {
@@ -119,6 +225,282 @@ public class ArrayService {
         }
     }
 
+    public IntSeparationResult separateArray(IntBuffer valuesToPart, String separationType) {
+        logger.info("Entering IntSeparate with buffer of length {} and separationType {}",
+                valuesToPart.limit(), separationType);
+        validateArray(valuesToPart);
+        SeparationType type = SeparationType.fromString(normalizeSeparationType(separationType));
+        int[][] groups = PartitionEngine.buckets(valuesToPart, separationRule(type));
+        IntSeparationResult result = new IntSeparationResult(groups[0], groups[1], type);
+        logger.info("Exiting IntSeparate successfully with result: {}", result);
+        return result;
+    }
+
+    public DoubleSeparationResult separateArray(DoubleBuffer valuesToPart, String separationType) {
+        logger.info("Entering DoubleSeparate with buffer of length {} and separationType {}",
+                valuesToPart.limit(), separationType);
+        validateArray(valuesToPart);
+        SeparationType type = SeparationType.fromString(normalizeSeparationType(separationType));
+        double[][] groups = PartitionEngine.buckets(valuesToPart, separationRule(type));
+        DoubleSeparationResult result = new DoubleSeparationResult(groups[0], groups[1], type);
+        logger.info("Exiting DoubleSeparate successfully with result: {}", result);
+        return result;
+    }
+
+    /**************************************************************************/
+
+    // kth and every percentile are resolved together by one multi-rank partitioning pass over a single copy
+    public IntSelectResponse selectArray(int[] arrayToSelect, Integer topK, Integer bottomK,
+                                         Integer kth, List<Double> percentiles) {
+        logger.info("Entering IntSelect with input of length {}, topK {}, bottomK {}, kth {}, percentiles {}",
+                arrayToSelect.length, topK, bottomK, kth, percentiles);
+        validateArray(arrayToSelect);
+        int[] ranks = selectionRanks(arrayToSelect.length, topK, bottomK, kth, percentiles);
+
+        int[] top = topK == null ? null : SelectEngine.largest(arrayToSelect, topK);
+        int[] bottom = bottomK == null ? null : SelectEngine.smallest(arrayToSelect, bottomK);
+        Integer kthValue = null;
+        double[] percentileValues = null;
+        if (ranks.length > 0) {
+            int[] work = Arrays.copyOf(arrayToSelect, arrayToSelect.length);
+            SelectEngine.selectRanks(work, ranks);
+            if (kth != null) {
+                kthValue = work[kth - 1];
+            }
+            if (percentiles != null) {
+                percentileValues = new double[percentiles.size()];
+                for (int i = 0; i < percentileValues.length; i++) {
+                    double low = work[ranks[2 * i]];
+                    double high = work[ranks[2 * i + 1]];
+                    percentileValues[i] = interpolate(low, high, percentiles.get(i), work.length);
+                }
+            }
+        }
+        logger.info("Exiting IntSelect successfully");
+        return new IntSelectResponse(top, bottom, kthValue, percentileValues);
+    }
+
+    public DoubleSelectResponse selectArray(double[] arrayToSelect, Integer topK, Integer bottomK,
+                                            Integer kth, List<Double> percentiles) {
+        logger.info("Entering DoubleSelect with input of length {}, topK {}, bottomK {}, kth {}, percentiles {}",
+                arrayToSelect.length, topK, bottomK, kth, percentiles);
+        validateArray(arrayToSelect);
+        int[] ranks = selectionRanks(arrayToSelect.length, topK, bottomK, kth, percentiles);
+
+        double[] top = topK == null ? null : SelectEngine.largest(arrayToSelect, topK);
+        double[] bottom = bottomK == null ? null : SelectEngine.smallest(arrayToSelect, bottomK);
+        Double kthValue = null;
+        double[] percentileValues = null;
+        if (ranks.length > 0) {
+            double[] work = Arrays.copyOf(arrayToSelect, arrayToSelect.length);
+            SelectEngine.selectRanks(work, ranks);
+            if (kth != null) {
+                kthValue = work[kth - 1];
+            }
+            if (percentiles != null) {
+                percentileValues = new double[percentiles.size()];
+                for (int i = 0; i < percentileValues.length; i++) {
+                    double low = work[ranks[2 * i]];
+                    double high = work[ranks[2 * i + 1]];
+                    percentileValues[i] = interpolate(low, high, percentiles.get(i), work.length);
+                }
+            }
+        }
+        logger.info("Exiting DoubleSelect successfully");
+        return new DoubleSelectResponse(top, bottom, kthValue, percentileValues);
+    }
+
+    /**************************************************************************/
+
+    // One fused pass; doubles give the same sum as sumArray in compensated mode
+    public IntStatsResponse statsArray(int[] arrayToDescribe) {
+        logger.info("Entering IntStats with input of length {}", arrayToDescribe.length);
+        validateArray(arrayToDescribe);
+        ArrayStatistics.IntSummary summary = arrayToDescribe.length >= statsParallelThreshold
+                ? ArrayStatistics.summarize(arrayToDescribe, ForkJoinPool.commonPool())
+                : ArrayStatistics.summarize(arrayToDescribe);
+        IntStatsResponse result = toStatsResponse(summary);
+        logger.info("Exiting IntStats with result: {}", result);
+        return result;
+    }
+
+    public DoubleStatsResponse statsArray(double[] arrayToDescribe) {
+        logger.info("Entering DoubleStats with input of length {}", arrayToDescribe.length);
+        validateArray(arrayToDescribe);
+        ArrayStatistics.DoubleSummary summary = arrayToDescribe.length >= statsParallelThreshold
+                ? ArrayStatistics.summarize(arrayToDescribe, ForkJoinPool.commonPool())
+                : ArrayStatistics.summarize(arrayToDescribe);
+        DoubleStatsResponse result = toStatsResponse(summary);
+        logger.info("Exiting DoubleStats with result: {}", result);
+        return result;
+    }
+
+    /**************************************************************************/
+
+    // Counting pass, prefix sums, one scatter; bucket b is values[offsets[b]..offsets[b + 1]) in input order
+    public IntPartitionResponse partitionArray(int[] arrayToPartition, String partitionType, Integer modulus,
+                                               List<Double> boundaries, Integer buckets) {
+        logger.info("Entering IntPartition with input of length {}, partitionType {}, modulus {}, boundaries {}, buckets {}",
+                arrayToPartition.length, partitionType, modulus, boundaries, buckets);
+        validateArray(arrayToPartition);
+        String normalizedPartition = normalizePartitionType(partitionType);
+        PartitionEngine.Rule rule = QUANTILE.equals(normalizedPartition)
+                ? PartitionEngine.Rule.ranges(
+                        PartitionEngine.quantileBoundaries(arrayToPartition, requireBuckets(buckets)))
+                : partitionRule(normalizedPartition, modulus, boundaries);
+        PartitionEngine.IntPartition partition = partition(arrayToPartition, rule);
+        logger.info("Exiting IntPartition successfully with {} buckets", rule.buckets());
+        return new IntPartitionResponse(partition.values(), partition.offsets(), rule.boundaries(),
+                normalizedPartition);
+    }
+
+    // Doubles are taken modulo by their floor, so 2.5 lands in the same bucket as 2
+    public DoublePartitionResponse partitionArray(double[] arrayToPartition, String partitionType, Integer modulus,
+                                                  List<Double> boundaries, Integer buckets) {
+        logger.info("Entering DoublePartition with input of length {}, partitionType {}, modulus {}, boundaries {}, buckets {}",
+                arrayToPartition.length, partitionType, modulus, boundaries, buckets);
+        validateArray(arrayToPartition);
+        String normalizedPartition = normalizePartitionType(partitionType);
+        PartitionEngine.Rule rule = QUANTILE.equals(normalizedPartition)
+                ? PartitionEngine.Rule.ranges(
+                        PartitionEngine.quantileBoundaries(arrayToPartition, requireBuckets(buckets)))
+                : partitionRule(normalizedPartition, modulus, boundaries);
+        PartitionEngine.DoublePartition partition = partition(arrayToPartition, rule);
+        logger.info("Exiting DoublePartition successfully with {} buckets", rule.buckets());
+        return new DoublePartitionResponse(partition.values(), partition.offsets(), rule.boundaries(),
+                normalizedPartition);
+    }
+
+    /**************************************************************************/
+
+    // One pass through a primitive hash table; -0.0 and 0.0 count as the same value
+    public IntDistinctResponse distinctArray(int[] arrayToCount, Boolean sortByFrequency, Integer limit) {
+        logger.info("Entering IntDistinct with input of length {}, sortByFrequency {}, limit {}",
+                arrayToCount.length, sortByFrequency, limit);
+        validateArray(arrayToCount);
+        FrequencyCounter.IntTable table = FrequencyCounter.count(arrayToCount);
+        int[] entries = table.order(Boolean.TRUE.equals(sortByFrequency), reportLimit(limit));
+        logger.info("Exiting IntDistinct successfully with {} distinct values", table.size());
+        return new IntDistinctResponse(table.values(entries), table.size());
+    }
+
+    public DoubleDistinctResponse distinctArray(double[] arrayToCount, Boolean sortByFrequency, Integer limit) {
+        logger.info("Entering DoubleDistinct with input of length {}, sortByFrequency {}, limit {}",
+                arrayToCount.length, sortByFrequency, limit);
+        validateArray(arrayToCount);
+        FrequencyCounter.DoubleTable table = FrequencyCounter.count(arrayToCount);
+        int[] entries = table.order(Boolean.TRUE.equals(sortByFrequency), reportLimit(limit));
+        logger.info("Exiting DoubleDistinct successfully with {} distinct values", table.size());
+        return new DoubleDistinctResponse(table.values(entries), table.size());
+    }
+
+    public IntFrequencyResponse frequencyArray(int[] arrayToCount, Boolean sortByFrequency, Integer limit) {
+        logger.info("Entering IntFrequencies with input of length {}, sortByFrequency {}, limit {}",
+                arrayToCount.length, sortByFrequency, limit);
+        validateArray(arrayToCount);
+        FrequencyCounter.IntTable table = FrequencyCounter.count(arrayToCount);
+        int[] entries = table.order(Boolean.TRUE.equals(sortByFrequency), reportLimit(limit));
+        logger.info("Exiting IntFrequencies successfully with {} distinct values", table.size());
+        return new IntFrequencyResponse(table.values(entries), table.counts(entries), table.size());
+    }
+
+    public DoubleFrequencyResponse frequencyArray(double[] arrayToCount, Boolean sortByFrequency, Integer limit) {
+        logger.info("Entering DoubleFrequencies with input of length {}, sortByFrequency {}, limit {}",
+                arrayToCount.length, sortByFrequency, limit);
+        validateArray(arrayToCount);
+        FrequencyCounter.DoubleTable table = FrequencyCounter.count(arrayToCount);
+        int[] entries = table.order(Boolean.TRUE.equals(sortByFrequency), reportLimit(limit));
+        logger.info("Exiting DoubleFrequencies successfully with {} distinct values", table.size());
+        return new DoubleFrequencyResponse(table.values(entries), table.counts(entries), table.size());
+    }
+
+    /**************************************************************************/
+
+    // One validation, then every step works on the caller's buffer: separate splits each group stably
+    // through one scratch array, sort sorts each group's slice, sum and stats reduce each group where it lies
+    public IntPipelineResponse pipelineArray(int[] buffer, List<ArrayPipelineStep> steps, boolean includeValues) {
+        long startTime = System.currentTimeMillis();
+        logger.info("Entering IntPipeline with input of length {} and {} steps", buffer.length, steps.size());
+        validateArray(buffer);
+        int[] offsets = {0, buffer.length};
+        long[] sums = null;
+        List<IntStatsResponse> stats = null;
+
+        for (int i = 0; i < steps.size(); i++) {
+            ArrayPipelineStep step = steps.get(i);
+            switch (pipelineOperation(step, i, sums != null || stats != null)) {
+                case "separate" -> offsets = separateGroups(buffer, offsets, pipelineSeparationRule(step, i));
+                case "sort" -> {
+                    boolean descending = pipelineDescending(step, i);
+                    for (int g = 0; g + 1 < offsets.length; g++) {
+                        SortEngine.sortRange(buffer, offsets[g], offsets[g + 1], descending, sortParallelThreshold);
+                    }
+                }
+                case "sum" -> {
+                    sums = new long[offsets.length - 1];
+                    for (int g = 0; g < sums.length; g++) {
+                        sums[g] = IntSumArray.findSum(buffer, offsets[g], offsets[g + 1]);
+                    }
+                }
+                default -> {
+                    stats = new ArrayList<>(offsets.length - 1);
+                    for (int g = 0; g + 1 < offsets.length; g++) {
+                        int from = offsets[g];
+                        int to = offsets[g + 1];
+                        stats.add(from == to ? null : toStatsResponse(to - from >= statsParallelThreshold
+                                ? ArrayStatistics.summarize(buffer, from, to, ForkJoinPool.commonPool())
+                                : ArrayStatistics.summarize(buffer, from, to)));
+                    }
+                }
+            }
+        }
+
+        logger.info("IntPipeline of {} steps completed in {}ms", steps.size(), System.currentTimeMillis() - startTime);
+        return new IntPipelineResponse(includeValues ? buffer : null, offsets, sums, stats, steps.size());
+    }
+
+    public DoublePipelineResponse pipelineArray(double[] buffer, List<ArrayPipelineStep> steps, boolean includeValues) {
+        long startTime = System.currentTimeMillis();
+        logger.info("Entering DoublePipeline with input of length {} and {} steps", buffer.length, steps.size());
+        validateArray(buffer);
+        int[] offsets = {0, buffer.length};
+        double[] sums = null;
+        List<DoubleStatsResponse> stats = null;
+
+        for (int i = 0; i < steps.size(); i++) {
+            ArrayPipelineStep step = steps.get(i);
+            switch (pipelineOperation(step, i, sums != null || stats != null)) {
+                case "separate" -> offsets = separateGroups(buffer, offsets, pipelineSeparationRule(step, i));
+                case "sort" -> {
+                    boolean descending = pipelineDescending(step, i);
+                    for (int g = 0; g + 1 < offsets.length; g++) {
+                        SortEngine.sortRange(buffer, offsets[g], offsets[g + 1], descending, sortParallelThreshold);
+                    }
+                }
+                case "sum" -> {
+                    boolean pairwise = step.sumMode() != null && PAIRWISE.equals(normalizeSumMode(step.sumMode()));
+                    sums = new double[offsets.length - 1];
+                    for (int g = 0; g < sums.length; g++) {
+                        sums[g] = sumGroup(buffer, offsets[g], offsets[g + 1], pairwise);
+                    }
+                }
+                default -> {
+                    stats = new ArrayList<>(offsets.length - 1);
+                    for (int g = 0; g + 1 < offsets.length; g++) {
+                        int from = offsets[g];
+                        int to = offsets[g + 1];
+                        stats.add(from == to ? null : toStatsResponse(to - from >= statsParallelThreshold
+                                ? ArrayStatistics.summarize(buffer, from, to, ForkJoinPool.commonPool())
+                                : ArrayStatistics.summarize(buffer, from, to)));
+                    }
+                }
+            }
+        }
+
+        logger.info("DoublePipeline of {} steps completed in {}ms", steps.size(), System.currentTimeMillis() - startTime);
+        return new DoublePipelineResponse(includeValues ? buffer : null, offsets, sums, stats, steps.size());
+    }
+
     /**************************************************************************/
 
     // Parameter normalization
@@ -143,6 +525,21 @@ public class ArrayService {
         };
     }
 
+    private String normalizeSumMode(String sumMode) {
+        logger.info("Normalizing sum mode: {}", sumMode);
+        String normalized = sumMode.trim();                // remove outer whitespace
+        normalized = normalized.replaceAll("\\s+", "");    // remove internal whitespace
+        normalized = normalized.toLowerCase();             // normalize case
+        return switch (normalized) {
+            case COMPENSATED, "c" -> COMPENSATED;
+            case PAIRWISE, "p" -> PAIRWISE;
+            default -> {
+                logger.warn("Invalid sum mode {}", sumMode);
+                throw new IllegalArgumentException("Sum mode must be 'compensated'/'c' or 'pairwise'/'p'");
+            }
+        };
+    }
+
     private String normalizeSeparationType(String separationType) {
         logger.info("Normalizing separation type: {}", separationType);
         String normalized = separationType.trim();              // remove outer whitespace
@@ -164,55 +561,253 @@ public class ArrayService {
         };
     }
 
+    private String normalizePartitionType(String partitionType) {
+        logger.info("Normalizing partition type: {}", partitionType);
+        String normalized = partitionType.trim();          // remove outer whitespace
+        normalized = normalized.replaceAll("\\s+", "");    // remove internal whitespace
+        normalized = normalized.toLowerCase();             // normalize case
+        return switch (normalized) {
+            case MODULO, "m" -> MODULO;
+            case RANGE, "r" -> RANGE;
+            case QUANTILE, "q" -> QUANTILE;
+            case "parity", "p" -> "parity";
+            case "sign", "s" -> "sign";
+            default -> {
+                logger.warn("Invalid partition type {}", partitionType);
+                throw new IllegalArgumentException(
+                        "Partition must be 'modulo'/'m', 'range'/'r', 'quantile'/'q', 'parity'/'p' or 'sign'/'s'");
+            }
+        };
+    }
+
     // Type-specific handlers
-    private int[] handleSorting(int[] array, String orderType) {
+    private int[] handleSorting(int[] array, String orderType, boolean inPlace) {
+        boolean descending = isDescending(orderType);
+        logger.info("Sorting {} ints with {}", array.length,
+                SortEngine.choose(array.length, true, descending, sortParallelThreshold));
+        return SortEngine.sort(array, descending, inPlace, sortParallelThreshold);
+    }
+
+    private double[] handleSorting(double[] array, String orderType, boolean inPlace) {
+        boolean descending = isDescending(orderType);
+        logger.info("Sorting {} doubles with {}", array.length,
+                SortEngine.choose(array.length, false, descending, sortParallelThreshold));
+        return SortEngine.sort(array, descending, inPlace, sortParallelThreshold);
+    }
+
+    private boolean isDescending(String orderType) {
         if (ASCENDING.equals(orderType)) {
-            return SortingArray.sortAscending(array);
+            return false;
         } else if (DESCENDING.equals(orderType)) {
-            return SortingArray.sortDescending(array);
+            return true;
         } else {
             throw new IllegalArgumentException("Order must be 'ascending'/'a' or 'descending'/'d'");
         }
     }
 
-    private double[] handleSorting(double[] array, String orderType) {
-        if (ASCENDING.equals(orderType)) {
-            return SortingArray.sortAscending(array);
-        } else if (DESCENDING.equals(orderType)) {
-            return SortingArray.sortDescending(array);
-        } else {
-            throw new IllegalArgumentException("Order must be 'ascending'/'a' or 'descending'/'d'");
+    // Separation is the two-bucket partition: {even, odd} or {positive, negative}
+    private IntSeparationResult handleSeparation(int[] array, String separationType) {
+        SeparationType type = SeparationType.fromString(separationType);
+
+        PartitionEngine.IntPartition groups = partition(array, separationRule(type));
+
+        return new IntSeparationResult(groups.bucket(0), groups.bucket(1), type);
+    }
+
+    private DoubleSeparationResult handleSeparation(double[] array, String separationType) {
+        SeparationType type = SeparationType.fromString(separationType);
+
+        PartitionEngine.DoublePartition groups = partition(array, separationRule(type));
+
+        return new DoubleSeparationResult(groups.bucket(0), groups.bucket(1), type);
+    }
+
+    private static PartitionEngine.Rule separationRule(SeparationType type) {
+        return switch (type) {
+            case PARITY -> PartitionEngine.Rule.parity();
+            case SIGN -> PartitionEngine.Rule.sign();
+        };
+    }
+
+    private PartitionEngine.Rule partitionRule(String partitionType, Integer modulus, List<Double> boundaries) {
+        return switch (partitionType) {
+            case MODULO -> {
+                if (modulus == null) {
+                    logger.warn("Modulo partition without a modulus");
+                    throw new IllegalArgumentException("Modulus is required for modulo partitioning");
+                }
+                yield PartitionEngine.Rule.modulo(modulus);
+            }
+            case RANGE -> {
+                if (boundaries == null) {
+                    logger.warn("Range partition without boundaries");
+                    throw new IllegalArgumentException("Boundaries are required for range partitioning");
+                }
+                double[] cuts = new double[boundaries.size()];
+                for (int i = 0; i < cuts.length; i++) {
+                    cuts[i] = boundaries.get(i);
+                }
+                yield PartitionEngine.Rule.ranges(cuts);
+            }
+            case "parity" -> PartitionEngine.Rule.parity();
+            case "sign" -> PartitionEngine.Rule.sign();
+            default -> throw new IllegalArgumentException("Unknown partition type: " + partitionType);
+        };
+    }
+
+    // Sums and stats describe the groups as they are when the step runs, so no separate may follow them
+    private String pipelineOperation(ArrayPipelineStep step, int index, boolean reduced) {
+        String operation = step.operation().trim().toLowerCase();
+        switch (operation) {
+            case "separate" -> {
+                if (reduced) {
+                    throw new IllegalArgumentException("Step " + index + ": separate cannot follow sum or stats");
+                }
+            }
+            case "sort", "sum", "stats" -> {
+            }
+            default -> throw new IllegalArgumentException("Step " + index + ": unknown operation " + step.operation());
         }
+        return operation;
     }
 
-    // Final practical solution - minimal duplication, maximum type safety
-    private SeparationResult<Integer> handleSeparation(int[] array, String separationType) {
-        ArrayList<Integer> first = new ArrayList<>();
-        ArrayList<Integer> second = new ArrayList<>();
+    private PartitionEngine.Rule pipelineSeparationRule(ArrayPipelineStep step, int index) {
+        if (step.separationType() == null || step.separationType().isBlank()) {
+            throw new IllegalArgumentException("Step " + index + ": separate needs separationType");
+        }
+        return separationRule(SeparationType.fromString(normalizeSeparationType(step.separationType())));
+    }
 
-        SeparationResult.SeparationType type = SeparationResult.SeparationType.fromString(separationType);
+    private boolean pipelineDescending(ArrayPipelineStep step, int index) {
+        if (step.orderType() == null || step.orderType().isBlank()) {
+            throw new IllegalArgumentException("Step " + index + ": sort needs orderType");
+        }
+        return isDescending(normalizeOrderType(step.orderType()));
+    }
 
-        switch (type) {
-            case PARITY -> SeparateArray.separateEvenAndOdd(array, first, second);
-            case SIGN -> SeparateArray.separatePositiveAndNegative(array, first, second);
+    // Every group becomes two adjacent groups, {even, odd} or {positive, negative}, each in its previous
+    // order (as /separate after /sort would give); the scratch array fits the largest group and is reused
+    private static int[] separateGroups(int[] buffer, int[] offsets, PartitionEngine.Rule rule) {
+        int groups = offsets.length - 1;
+        int[] split = new int[2 * groups + 1];
+        int[] scratch = new int[largestGroup(offsets)];
+        for (int g = 0; g < groups; g++) {
+            split[2 * g] = offsets[g];
+            split[2 * g + 1] = PartitionEngine.split(buffer, offsets[g], offsets[g + 1], rule, scratch);
         }
+        split[2 * groups] = buffer.length;
+        return split;
+    }
+
+    private static int[] separateGroups(double[] buffer, int[] offsets, PartitionEngine.Rule rule) {
+        int groups = offsets.length - 1;
+        int[] split = new int[2 * groups + 1];
+        double[] scratch = new double[largestGroup(offsets)];
+        for (int g = 0; g < groups; g++) {
+            split[2 * g] = offsets[g];
+            split[2 * g + 1] = PartitionEngine.split(buffer, offsets[g], offsets[g + 1], rule, scratch);
+        }
+        split[2 * groups] = buffer.length;
+        return split;
+    }
+
+    private static int largestGroup(int[] offsets) {
+        int largest = 0;
+        for (int g = 0; g + 1 < offsets.length; g++) {
+            largest = Math.max(largest, offsets[g + 1] - offsets[g]);
+        }
+        return largest;
+    }
 
-        return new SeparationResult<>(first, second, type);
+    // Same bits as sumArray on a copy of the group
+    private double sumGroup(double[] buffer, int from, int to, boolean pairwise) {
+        boolean parallel = to - from >= sumParallelThreshold;
+        if (pairwise) {
+            return parallel
+                    ? DoubleSumArray.pairwiseSum(buffer, from, to, ForkJoinPool.commonPool())
+                    : DoubleSumArray.pairwiseSum(buffer, from, to);
+        }
+        return parallel
+                ? DoubleSumArray.compensatedSum(buffer, from, to, ForkJoinPool.commonPool())
+                : DoubleSumArray.compensatedSum(buffer, from, to);
     }
 
-    private SeparationResult<Double> handleSeparation(double[] array, String separationType) {
-        ArrayList<Double> first = new ArrayList<>();
-        ArrayList<Double> second = new ArrayList<>();
+    private static IntStatsResponse toStatsResponse(ArrayStatistics.IntSummary summary) {
+        return new IntStatsResponse(summary.count(), summary.sum(), summary.min(), summary.max(),
+                summary.mean(), summary.variance(), Math.sqrt(summary.variance()),
+                summary.count() - summary.oddCount(), summary.oddCount(),
+                summary.count() - summary.negativeCount(), summary.negativeCount());
+    }
 
-        SeparationResult.SeparationType type = SeparationResult.SeparationType.fromString(separationType);
+    private static DoubleStatsResponse toStatsResponse(ArrayStatistics.DoubleSummary summary) {
+        return new DoubleStatsResponse(summary.count(), summary.sum(), summary.min(),
+                summary.max(), summary.mean(), summary.variance(), Math.sqrt(summary.variance()),
+                summary.count() - summary.oddCount(), summary.oddCount(),
+                summary.count() - summary.negativeCount(), summary.negativeCount());
+    }
 
-        //technically the same code as above, but it's here for *VARIETY* LOL
-        if (type == SeparationResult.SeparationType.PARITY) {
-            SeparateArray.separateEvenAndOdd(array, first, second);
-        } else if (type == SeparationResult.SeparationType.SIGN) {
-            SeparateArray.separatePositiveAndNegative(array, first, second);
+    private static int reportLimit(Integer limit) {
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
+
+    private int requireBuckets(Integer buckets) {
+        if (buckets == null) {
+            logger.warn("Quantile partition without a bucket count");
+            throw new IllegalArgumentException("Bucket count is required for quantile partitioning");
         }
-        return new SeparationResult<>(first, second, type);
+        return buckets;
+    }
+
+    private PartitionEngine.IntPartition partition(int[] array, PartitionEngine.Rule rule) {
+        return array.length >= partitionParallelThreshold
+                ? PartitionEngine.partition(array, rule, ForkJoinPool.commonPool())
+                : PartitionEngine.partition(array, rule);
+    }
+
+    private PartitionEngine.DoublePartition partition(double[] array, PartitionEngine.Rule rule) {
+        return array.length >= partitionParallelThreshold
+                ? PartitionEngine.partition(array, rule, ForkJoinPool.commonPool())
+                : PartitionEngine.partition(array, rule);
+    }
+
+    // Ranks to select: the two neighbours of each percentile (at 2i and 2i + 1), then kth - 1
+    private int[] selectionRanks(int length, Integer topK, Integer bottomK, Integer kth, List<Double> percentiles) {
+        int percentileCount = percentiles == null ? 0 : percentiles.size();
+        if (topK == null && bottomK == null && kth == null && percentileCount == 0) {
+            logger.warn("Select request without any selection");
+            throw new IllegalArgumentException("At least one of topK, bottomK, kth or percentiles is required");
+        }
+        if (kth != null && kth > length) {
+            logger.warn("K-th position {} outside array of length {}", kth, length);
+            throw new IllegalArgumentException("K-th position must be between 1 and " + length);
+        }
+
+        int[] ranks = new int[2 * percentileCount + (kth == null ? 0 : 1)];
+        for (int i = 0; i < percentileCount; i++) {
+            double position = percentilePosition(percentiles.get(i), length);
+            ranks[2 * i] = (int) Math.floor(position);
+            ranks[2 * i + 1] = (int) Math.ceil(position);
+        }
+        if (kth != null) {
+            ranks[ranks.length - 1] = kth - 1;
+        }
+        return ranks;
+    }
+
+    // Linear interpolation between closest ranks, the same definition as Excel's PERCENTILE.INC
+    // validateArray keeps every value within MAX_NUMERIC_VALUE (Double.MAX_VALUE / 2), so high - low
+    // is always finite
+    private static double interpolate(double low, double high, double percentile, int length) {
+        double position = percentilePosition(percentile, length);
+        double fraction = position - Math.floor(position);
+        if (fraction == 0) {
+            return low;
+        }
+        return low + fraction * (high - low);
+    }
+
+    private static double percentilePosition(double percentile, int length) {
+        return percentile / 100.0 * (length - 1);
     }
 
     /**************************************************************************/
@@ -239,21 +834,7 @@ public class ArrayService {
         // Element-level validation with fail-fast
         boolean hasValidElement = false;
         for (double element : doubleArray) {
-            if (Double.isNaN(element)) {
-                logger.warn("Array validation failed: contains NaN");
-                throw new IllegalArgumentException("Array contains NaN value");
-            }
-
-            if (Double.isInfinite(element)) {
-                logger.warn("Array validation failed: contains infinite value");
-                throw new IllegalArgumentException("Array contains infinite value");
-            }
-
-            if (Math.abs(element) > MAX_NUMERIC_VALUE) {
-                logger.warn("DoubleArray validation failed: values too large");
-                throw new IllegalArgumentException("Array contains value exceeding reasonable bounds: " + element);
-            }
-
+            validateElement(element);
             hasValidElement = true;
         }
 
@@ -264,4 +845,38 @@ public class ArrayService {
         }
     }
 
+    private void validateArray(IntBuffer intValues) {
+        if (intValues.limit() == 0) {
+            logger.warn("Int Array validation failed: no valid elements");
+            throw new IllegalArgumentException("Array must contain at least one valid numeric value");
+        }
+    }
+
+    private void validateArray(DoubleBuffer doubleValues) {
+        for (int i = 0, n = doubleValues.limit(); i < n; i++) {
+            validateElement(doubleValues.get(i));
+        }
+        if (doubleValues.limit() == 0) {
+            logger.warn("Array validation failed: no valid elements");
+            throw new IllegalArgumentException("Array must contain at least one valid numeric value");
+        }
+    }
+
+    private void validateElement(double element) {
+        if (Double.isNaN(element)) {
+            logger.warn("Array validation failed: contains NaN");
+            throw new IllegalArgumentException("Array contains NaN value");
+        }
+
+        if (Double.isInfinite(element)) {
+            logger.warn("Array validation failed: contains infinite value");
+            throw new IllegalArgumentException("Array contains infinite value");
+        }
+
+        if (Math.abs(element) > MAX_NUMERIC_VALUE) {
+            logger.warn("DoubleArray validation failed: values too large");
+            throw new IllegalArgumentException("Array contains value exceeding reasonable bounds: " + element);
+        }
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.string_manipulator.service;
+
+//Both groups are exact-size arrays in input order; getters hand out the arrays themselves, no copies
+public record DoubleSeparationResult(double[] first, double[] second, SeparationType separationType) {
+    // Type-safe getters with proper validation
+    public double[] getEven() {
+        separationType.requireType(SeparationType.PARITY);
+        return first;
+    }
+
+    public double[] getOdd() {
+        separationType.requireType(SeparationType.PARITY);
+        return second;
+    }
+
+    public double[] getPositive() {
+        separationType.requireType(SeparationType.SIGN);
+        return first;
+    }
+
+    public double[] getNegative() {
+        separationType.requireType(SeparationType.SIGN);
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return separationType.getValue() + " separation: " + first.length + " / " + second.length;
+    }
+}
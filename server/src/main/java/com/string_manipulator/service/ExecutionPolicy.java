@@ -0,0 +1,179 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.exception.ServiceOverloadedException;
+import com.string_manipulator.exception.TaskExecutionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decides where ArrayService and StringService work runs, based on input size (elements for
+ * arrays, chars for strings):
+ * <ul>
+ *     <li>Inline: small inputs run on the request thread, with no hand-off cost.</li>
+ *     <li>Parallel: medium inputs run on a shared fixed pool. When its queue is full, the request
+ *     thread runs the work itself.</li>
+ *     <li>Bulk: large inputs run on a small bounded pool, so a few huge sorts cannot take over
+ *     the CPU while small requests wait. Work that finds its threads and queue full is rejected
+ *     with {@link ServiceOverloadedException} (503) instead of waiting.</li>
+ * </ul>
+ * Each tier reports its queue depth ({@code execution.tier.queued}) and running work
+ * ({@code execution.tier.active}) as gauges, and bulk rejections as a counter
+ * ({@code execution.tier.rejected}). The inline tier has no queue.
+ */
+@Service
+public class ExecutionPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionPolicy.class);
+
+    public enum Tier { INLINE, PARALLEL, BULK }
+
+    @FunctionalInterface
+    public interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private final ThreadPoolExecutor parallelPool;
+    private final ThreadPoolExecutor bulkPool;
+    private final long arrayParallelThreshold;
+    private final long arrayBulkThreshold;
+    private final long stringParallelThreshold;
+    private final long stringBulkThreshold;
+    private final AtomicInteger inlineActive = new AtomicInteger();
+    private final Counter bulkRejections;
+
+    @Autowired
+    public ExecutionPolicy(@Qualifier("parallelTierExecutor") ThreadPoolExecutor parallelPool,
+                           @Qualifier("bulkTierExecutor") ThreadPoolExecutor bulkPool,
+                           @Value("${execution.array.parallel-threshold:16384}") long arrayParallelThreshold,
+                           @Value("${execution.array.bulk-threshold:1000000}") long arrayBulkThreshold,
+                           @Value("${execution.string.parallel-threshold:2048}") long stringParallelThreshold,
+                           @Value("${execution.string.bulk-threshold:8192}") long stringBulkThreshold,
+                           MeterRegistry registry) {
+        this.parallelPool = parallelPool;
+        this.bulkPool = bulkPool;
+        this.arrayParallelThreshold = arrayParallelThreshold;
+        this.arrayBulkThreshold = arrayBulkThreshold;
+        this.stringParallelThreshold = stringParallelThreshold;
+        this.stringBulkThreshold = stringBulkThreshold;
+
+        Gauge.builder("execution.tier.queued", parallelPool, pool -> pool.getQueue().size())
+                .tag("tier", "parallel").description("Tasks waiting for a parallel tier thread").register(registry);
+        Gauge.builder("execution.tier.queued", bulkPool, pool -> pool.getQueue().size())
+                .tag("tier", "bulk").description("Tasks waiting for a bulk tier thread").register(registry);
+        Gauge.builder("execution.tier.active", inlineActive, AtomicInteger::get)
+                .tag("tier", "inline").description("Tasks running on request threads").register(registry);
+        Gauge.builder("execution.tier.active", parallelPool, ThreadPoolExecutor::getActiveCount)
+                .tag("tier", "parallel").description("Tasks running on parallel tier threads").register(registry);
+        Gauge.builder("execution.tier.active", bulkPool, ThreadPoolExecutor::getActiveCount)
+                .tag("tier", "bulk").description("Tasks running on bulk tier threads").register(registry);
+        this.bulkRejections = Counter.builder("execution.tier.rejected")
+                .tag("tier", "bulk").description("Tasks shed with a 503 because the bulk tier was full")
+                .register(registry);
+    }
+
+    /**************************************************************************/
+
+    public <T> T runArray(long length, Supplier<T> work) {
+        return run(tierFor(length, arrayParallelThreshold, arrayBulkThreshold), work);
+    }
+
+    // For work that reads the request body itself (the external sort); its IOException comes back as is
+    public <T> T runArrayIo(long length, IoSupplier<T> work) throws IOException {
+        return runIo(tierFor(length, arrayParallelThreshold, arrayBulkThreshold), work);
+    }
+
+    public <T> T runString(long length, Supplier<T> work) {
+        return run(tierFor(length, stringParallelThreshold, stringBulkThreshold), work);
+    }
+
+    // Same for the streaming string endpoints, which read and write the HTTP bodies themselves
+    public <T> T runStringIo(long length, IoSupplier<T> work) throws IOException {
+        return runIo(tierFor(length, stringParallelThreshold, stringBulkThreshold), work);
+    }
+
+    /**************************************************************************/
+
+    private static Tier tierFor(long size, long parallelThreshold, long bulkThreshold) {
+        if (size >= bulkThreshold) {
+            return Tier.BULK;
+        }
+        return size >= parallelThreshold ? Tier.PARALLEL : Tier.INLINE;
+    }
+
+    private <T> T runIo(Tier tier, IoSupplier<T> work) throws IOException {
+        try {
+            return run(tier, () -> {
+                try {
+                    return work.get();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> T run(Tier tier, Supplier<T> work) {
+        return switch (tier) {
+            case INLINE -> {
+                inlineActive.incrementAndGet();
+                try {
+                    yield work.get();
+                } finally {
+                    inlineActive.decrementAndGet();
+                }
+            }
+            case PARALLEL -> await(parallelPool.submit(work::get), tier);
+            case BULK -> {
+                Future<T> future;
+                try {
+                    future = bulkPool.submit(work::get);
+                } catch (RejectedExecutionException e) {
+                    bulkRejections.increment();
+                    logger.warn("Bulk tier full ({} running, {} queued), shedding request",
+                            bulkPool.getActiveCount(), bulkPool.getQueue().size());
+                    throw new ServiceOverloadedException("Too many large requests in progress, retry shortly");
+                }
+                yield await(future, tier);
+            }
+        };
+    }
+
+    // The request thread waits for its result. Unchecked exceptions come back unchanged so the usual
+    // handlers apply; anything else is a server-side failure (500) or an interrupted wait (503), never a 400
+    private static <T> T await(Future<T> future, Tier tier) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new TaskExecutionException("Task failed on the " + tier.name().toLowerCase() + " tier", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(
+                    "Interrupted while waiting for the " + tier.name().toLowerCase() + " tier, retry shortly", e);
+        }
+    }
+}
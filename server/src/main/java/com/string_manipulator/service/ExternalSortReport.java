@@ -0,0 +1,14 @@
+package com.string_manipulator.service;
+
+/**
+ * Sizing figures from an external sort: how many runs the memory budget produced, how much
+ * was spilled to disk, and how the time split between sorting runs and merging them.
+ */
+public record ExternalSortReport(long elements, int runs, long spillBytes, long runMillis, long mergeMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("%d elements, %d runs, %d bytes spilled, %d ms sorting runs, %d ms merging",
+                elements, runs, spillBytes, runMillis, mergeMillis);
+    }
+}
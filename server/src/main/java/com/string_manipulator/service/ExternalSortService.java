@@ -0,0 +1,190 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.util.BinaryArrayCodec;
+import com.string_manipulator.util.ExternalMergeSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sorts binary-format arrays of any length a u32 count can express, without ever holding the whole
+ * array. The input is read in runs of at most {@code runBytes}, each run is validated and sorted by
+ * {@link ArrayService}, full runs are spilled to disk, and the runs are then k-way merged straight
+ * into the output. Input that fits in one run is never written to disk.
+ * HTTP bodies are capped at {@code maxBytes} of values, checked against the header count before
+ * any value is read, so one request cannot fill the temp directory; file mode is not capped.
+ */
+@Service
+public class ExternalSortService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalSortService.class);
+
+    private final ArrayService arrayService;
+    // values per run, in bytes; the in-memory sorter may need as much again while sorting a run
+    private final long runBytes;
+    // values per HTTP request, in bytes; bounds both the spill file and the work of one request
+    private final long maxBytes;
+
+    @Autowired
+    public ExternalSortService(ArrayService arrayService,
+                               @Value("${array.sort.external.run-bytes:67108864}") long runBytes,
+                               @Value("${array.sort.external.max-bytes:1073741824}") long maxBytes) {
+        this.arrayService = arrayService;
+        this.runBytes = runBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Sorted runs waiting to be merged; closing deletes the spill file.
+     */
+    public static final class SpilledRuns implements Closeable {
+
+        private final BinaryArrayCodec.Header header;
+        private final boolean integral;
+        private final ExternalMergeSort merge;
+        private int[] singleInts;     // input that fit in one run stays in memory instead
+        private double[] singleDoubles;
+        private long runMillis;
+
+        private SpilledRuns(BinaryArrayCodec.Header header, boolean descending) throws IOException {
+            this.header = header;
+            this.integral = header.type() == BinaryArrayCodec.ElementType.INT32;
+            this.merge = new ExternalMergeSort(integral, descending);
+        }
+
+        public long elements() {
+            return header.count();
+        }
+
+        public int runs() {
+            return Math.max(merge.runCount(), 1);
+        }
+
+        public long spillBytes() {
+            return merge.spillBytes();
+        }
+
+        @Override
+        public void close() throws IOException {
+            merge.close();
+        }
+    }
+
+    /**************************************************************************/
+
+    /**
+     * Reads the header of an HTTP body and rejects it if its values would exceed {@code maxBytes}.
+     */
+    public BinaryArrayCodec.Header readHeader(InputStream in) throws IOException {
+        BinaryArrayCodec.Header header = BinaryArrayCodec.readHeader(in);
+        // int64 is widened to double, so everything but int32 takes 8 bytes per value
+        long bytes = header.count() * (header.type() == BinaryArrayCodec.ElementType.INT32 ? Integer.BYTES : Double.BYTES);
+        if (bytes > maxBytes) {
+            logger.warn("External sort of {} bytes rejected, limit is {} bytes", bytes, maxBytes);
+            throw new IllegalArgumentException("External sort of " + bytes
+                    + " bytes exceeds the limit of " + maxBytes + " bytes");
+        }
+        return header;
+    }
+
+    /**
+     * Sorts the values after {@code header} (parameter byte 0 ascending, 1 descending) into runs.
+     */
+    public SpilledRuns spill(BinaryArrayCodec.Header header, InputStream in) throws IOException {
+        String orderType = switch (header.parameter()) {
+            case 0 -> "ascending";
+            case 1 -> "descending";
+            default -> throw new IllegalArgumentException(
+                    "Parameter byte must be 0 (ascending) or 1 (descending), got " + header.parameter());
+        };
+        logger.info("Entering external sort of {} {} values, {} order, run budget {} bytes",
+                header.count(), header.type(), orderType, runBytes);
+        if (header.count() == 0) {
+            throw new IllegalArgumentException("Array must contain at least one valid numeric value");
+        }
+
+        long startTime = System.currentTimeMillis();
+        SpilledRuns runs = new SpilledRuns(header, header.parameter() == 1);
+        try {
+            // int64 is widened to double, so it takes 8 bytes per value like float64
+            int elementSize = runs.integral ? Integer.BYTES : Double.BYTES;
+            int runLength = (int) Math.clamp(runBytes / elementSize, 1, Integer.MAX_VALUE - 8);
+            long remaining = header.count();
+            while (remaining > 0) {
+                int length = (int) Math.min(runLength, remaining);
+                remaining -= length;
+                if (runs.integral) {
+                    int[] run = new int[length];
+                    BinaryArrayCodec.readInts(in, run, 0, length);
+                    arrayService.sortArray(run, orderType, true);
+                    if (remaining == 0 && runs.merge.runCount() == 0) {
+                        runs.singleInts = run;
+                    } else {
+                        runs.merge.addRun(run, length);
+                    }
+                } else {
+                    double[] run = new double[length];
+                    BinaryArrayCodec.readDoubles(in, header.type(), run, 0, length);
+                    arrayService.sortArray(run, orderType, true);
+                    if (remaining == 0 && runs.merge.runCount() == 0) {
+                        runs.singleDoubles = run;
+                    } else {
+                        runs.merge.addRun(run, length);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            runs.close();
+            throw e;
+        }
+        runs.runMillis = System.currentTimeMillis() - startTime;
+        logger.info("Sorted {} runs, {} bytes spilled", runs.runs(), runs.spillBytes());
+        return runs;
+    }
+
+    /**
+     * Writes the merged result as a binary-format message with the input's parameter byte.
+     */
+    public ExternalSortReport merge(SpilledRuns runs, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        BinaryArrayCodec.ElementType outputType = runs.integral
+                ? BinaryArrayCodec.ElementType.INT32 : BinaryArrayCodec.ElementType.FLOAT64;
+        BinaryArrayCodec.writeHeader(out, outputType, runs.header.parameter(), runs.elements());
+
+        if (runs.merge.runCount() > 0) {
+            runs.merge.mergeTo(out);
+        } else if (runs.integral) {
+            BinaryArrayCodec.writeValues(out, runs.singleInts);
+        } else {
+            BinaryArrayCodec.writeValues(out, runs.singleDoubles);
+        }
+        out.flush();
+
+        ExternalSortReport report = new ExternalSortReport(runs.elements(), runs.runs(), runs.spillBytes(),
+                runs.runMillis, System.currentTimeMillis() - startTime);
+        logger.info("Exiting external sort: {}", report);
+        return report;
+    }
+
+    /**
+     * File mode: sorts a binary-format file into another one.
+     */
+    public ExternalSortReport sortFile(Path input, Path output) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input));
+             SpilledRuns runs = spill(BinaryArrayCodec.readHeader(in), in);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            return merge(runs, out);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.string_manipulator.service;
+
+/**
+ * Outcome of a file-mode string job, with the throughput it reached.
+ */
+public record FileJobReport(String operation, long inputBytes, long outputBytes, long elapsedMillis) {
+
+    public double megabytesPerSecond() {
+        double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+        return inputBytes / (1024.0 * 1024.0) / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d bytes in, %d bytes out, %d ms, %.1f MB/s",
+                operation, inputBytes, outputBytes, elapsedMillis, megabytesPerSecond());
+    }
+}
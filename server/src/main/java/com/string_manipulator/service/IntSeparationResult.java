@@ -0,0 +1,30 @@
+package com.string_manipulator.service;
+
+//Both groups are exact-size arrays in input order; getters hand out the arrays themselves, no copies
+public record IntSeparationResult(int[] first, int[] second, SeparationType separationType) {
+    // Type-safe getters with proper validation
+    public int[] getEven() {
+        separationType.requireType(SeparationType.PARITY);
+        return first;
+    }
+
+    public int[] getOdd() {
+        separationType.requireType(SeparationType.PARITY);
+        return second;
+    }
+
+    public int[] getPositive() {
+        separationType.requireType(SeparationType.SIGN);
+        return first;
+    }
+
+    public int[] getNegative() {
+        separationType.requireType(SeparationType.SIGN);
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return separationType.getValue() + " separation: " + first.length + " / " + second.length;
+    }
+}
@@ -1,64 +0,0 @@
-package com.string_manipulator.service;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-//Changed to record, change back if something breaks
-// Enhanced SeparationResult with better type safety
-public record SeparationResult<T>(ArrayList<T> first, ArrayList<T> second, SeparationType separationType) {
-    // Type-safe getters with proper validation
-    public List<T> getEven() {
-        validateSeparationType(SeparationType.PARITY);
-        return Collections.unmodifiableList(first);
-    }
-
-    public List<T> getOdd() {
-        validateSeparationType(SeparationType.PARITY);
-        return Collections.unmodifiableList(second);
-    }
-
-    public List<T> getPositive() {
-        validateSeparationType(SeparationType.SIGN);
-        return Collections.unmodifiableList(first);
-    }
-
-    public List<T> getNegative() {
-        validateSeparationType(SeparationType.SIGN);
-        return Collections.unmodifiableList(second);
-    }
-
-    private void validateSeparationType(SeparationType expectedType) {
-        if (separationType != expectedType) {
-            throw new IllegalStateException(
-                    String.format("Cannot get %s from separation type %s",
-                            expectedType.name().toLowerCase(), separationType.name().toLowerCase())
-            );
-        }
-    }
-
-    public enum SeparationType {
-        PARITY("parity"),
-        SIGN("sign");
-
-        private final String value;
-
-        SeparationType(String value) {
-            this.value = value;
-        }
-
-        public static SeparationType fromString(String value) {
-            for (SeparationType type : values()) {
-                if (type.value.equals(value)) {
-                    return type;
-                }
-            }
-            throw new IllegalArgumentException("Unknown separation type: " + value);
-        }
-
-        public String getValue() {
-            return value;
-        }
-    }
-}
-
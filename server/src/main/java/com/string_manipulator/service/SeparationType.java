@@ -0,0 +1,34 @@
+package com.string_manipulator.service;
+
+public enum SeparationType {
+    PARITY("parity"),
+    SIGN("sign");
+
+    private final String value;
+
+    SeparationType(String value) {
+        this.value = value;
+    }
+
+    public static SeparationType fromString(String value) {
+        for (SeparationType type : values()) {
+            if (type.value.equals(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown separation type: " + value);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    void requireType(SeparationType expectedType) {
+        if (this != expectedType) {
+            throw new IllegalStateException(
+                    String.format("Cannot get %s from separation type %s",
+                            expectedType.name().toLowerCase(), name().toLowerCase())
+            );
+        }
+    }
+}
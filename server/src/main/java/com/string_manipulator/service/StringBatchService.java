@@ -0,0 +1,102 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.dto.string.BatchItemResult;
+import com.string_manipulator.dto.string.BatchOperation;
+import com.string_manipulator.dto.string.BatchResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs many reverse/shift operations from one request: every item is validated up front,
+ * the valid ones run in parallel on a bounded executor, and results and per-item errors come
+ * back in input order. Any exception thrown by one item becomes that item's failure.
+ */
+@Service
+public class StringBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringBatchService.class);
+
+    private final StringService stringService;
+    private final Validator validator;
+    private final ExecutorService executor;
+
+    @Autowired
+    public StringBatchService(StringService stringService, Validator validator,
+                              @Qualifier("stringBatchExecutor") ExecutorService executor) {
+        this.stringService = stringService;
+        this.validator = validator;
+        this.executor = executor;
+    }
+
+    public BatchResponse processBatch(List<BatchOperation> operations) {
+        long startTime = System.currentTimeMillis();
+        logger.info("Entering processBatch with {} operations", operations.size());
+
+        BatchItemResult[] results = new BatchItemResult[operations.size()];
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            List<String> errors = validate(operation);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.failure(i, errors);
+                continue;
+            }
+            int index = i;
+            running.add(CompletableFuture.runAsync(() -> results[index] = execute(index, operation), executor));
+        }
+
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+        logger.info("Batch of {} operations completed in {}ms", operations.size(),
+                System.currentTimeMillis() - startTime);
+        return new BatchResponse(Arrays.asList(results));
+    }
+
+    private List<String> validate(BatchOperation operation) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<BatchOperation> violation : validator.validate(operation)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (errors.isEmpty() && isShift(operation)) {
+            if (operation.numOfShifts() == null) {
+                errors.add("numOfShifts: Number of shifts is required for shift");
+            }
+            if (operation.direction() == null || operation.direction().isBlank()) {
+                errors.add("direction: Direction is required for shift");
+            }
+        }
+        return errors;
+    }
+
+    private BatchItemResult execute(int index, BatchOperation operation) {
+        try {
+            String result = isShift(operation)
+                    ? stringService.shiftString(operation.text(), operation.numOfShifts(), operation.direction())
+                    : stringService.reverseString(operation.text());
+            return BatchItemResult.success(index, result);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Batch item {} failed: {}", index, e.getMessage());
+            return BatchItemResult.failure(index, List.of(e.getMessage()));
+        } catch (RuntimeException e) {
+            // a bug in one item must not fail the others; the details stay in the log, as for a 500
+            logger.error("Batch item {} failed unexpectedly: {}", index, e.getMessage(), e);
+            return BatchItemResult.failure(index, List.of("An unexpected error occurred"));
+        }
+    }
+
+    private static boolean isShift(BatchOperation operation) {
+        return "shift".equalsIgnoreCase(operation.operation().trim());
+    }
+}
@@ -0,0 +1,222 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.util.GraphemeChunkReader;
+import com.string_manipulator.util.GraphemeIndex;
+import com.string_manipulator.util.GraphemeSegmenter;
+import com.string_manipulator.util.InputSanitizer;
+import com.string_manipulator.util.MappedUtf8Reader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File mode for reverse and shift on UTF-8 documents too large for the HTTP layer.
+ * The input is memory-mapped and decoded window by window, chunks end on safe grapheme
+ * boundaries, and every chunk is written straight to its final position in the output file,
+ * so heap usage stays flat no matter how big the file is.
+ */
+@Service
+public class StringFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringFileService.class);
+    private static final int WINDOW_SIZE = 16 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // longest run without a safe grapheme boundary that is buffered before the job fails
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private final StringService stringService;
+    private final GraphemeSegmenter segmenter;
+
+    @Autowired
+    public StringFileService(StringService stringService, GraphemeSegmenter segmenter) {
+        this.stringService = stringService;
+        this.segmenter = segmenter;
+    }
+
+    /**************************************************************************/
+
+    public FileJobReport reverseFile(Path input, Path output) throws IOException {
+        logger.info("Entering reverseFile: {} -> {}", input, output);
+        requireDistinct(input, output);
+        long startTime = System.currentTimeMillis();
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = openOutput(output)) {
+            // sanitizing only drops single-byte control chars, so the output size is known up front
+            long outputSize = in.size() - countControlBytes(in);
+            long written = 0;
+
+            GraphemeChunkReader chunks = chunkReader(in);
+            String chunk;
+            while ((chunk = chunks.next()) != null) {
+                byte[] bytes = stringService.processReverse(chunk).getBytes(StandardCharsets.UTF_8);
+                written += bytes.length;
+                // chunk k of the input is chunk k from the end of the output
+                writeFully(out, bytes, 0, bytes.length, outputSize - written);
+            }
+
+            FileJobReport report = new FileJobReport("reverse", in.size(), written,
+                    System.currentTimeMillis() - startTime);
+            logger.info("Exiting reverseFile: {}", report);
+            return report;
+        }
+    }
+
+    /**************************************************************************/
+
+    public FileJobReport shiftFile(Path input, Path output, int shifts, String direction) throws IOException {
+        logger.info("Entering shiftFile: {} -> {}, shift = {}, direction = {}", input, output, shifts, direction);
+        if (shifts < 0) {
+            throw new IllegalArgumentException("Number of shifts cannot be negative");
+        }
+        String normalizedDirection = stringService.normalizingDirection(direction);
+        requireDistinct(input, output);
+        long startTime = System.currentTimeMillis();
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = openOutput(output)) {
+            long outputSize = in.size() - countControlBytes(in);
+
+            // the shift is reduced by the char and grapheme totals, and a right shift by k is a left
+            // shift by n - k, so both totals are needed first
+            long leftShift = 0;
+            if (shifts > 0) {
+                TextSize size = measure(in);
+                leftShift = StringService.effectiveShifts(shifts, size.chars(), size.graphemes());
+                if (!"left".equals(normalizedDirection) && leftShift > 0) {
+                    leftShift = size.graphemes() - leftShift;
+                }
+            }
+            long split = byteOffsetOfGrapheme(in, leftShift);
+
+            // bytes [split, end) move to the front, bytes [0, split) go after them
+            long position = 0;
+            GraphemeChunkReader chunks = chunkReader(in);
+            String chunk;
+            while ((chunk = chunks.next()) != null) {
+                byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+                long end = position + bytes.length;
+                if (end <= split) {
+                    writeFully(out, bytes, 0, bytes.length, outputSize - split + position);
+                } else if (position >= split) {
+                    writeFully(out, bytes, 0, bytes.length, position - split);
+                } else {
+                    int head = (int) (split - position);
+                    writeFully(out, bytes, 0, head, outputSize - split + position);
+                    writeFully(out, bytes, head, bytes.length - head, 0);
+                }
+                position = end;
+            }
+
+            FileJobReport report = new FileJobReport("shift", in.size(), position,
+                    System.currentTimeMillis() - startTime);
+            logger.info("Exiting shiftFile: {}", report);
+            return report;
+        }
+    }
+
+    /**************************************************************************/
+
+    private record TextSize(long chars, long graphemes) {
+    }
+
+    // chars and graphemes of the sanitized text
+    private TextSize measure(FileChannel in) throws IOException {
+        long chars = 0;
+        long graphemes = 0;
+        GraphemeChunkReader chunks = chunkReader(in);
+        String chunk;
+        while ((chunk = chunks.next()) != null) {
+            chars += chunk.length();
+            graphemes += segmenter.count(chunk);
+        }
+        return new TextSize(chars, graphemes);
+    }
+
+    // UTF-8 byte offset (after sanitizing) where grapheme `target` starts
+    private long byteOffsetOfGrapheme(FileChannel in, long target) throws IOException {
+        long offset = 0;
+        long remaining = target;
+        GraphemeChunkReader chunks = chunkReader(in);
+        String chunk;
+        while (remaining > 0 && (chunk = chunks.next()) != null) {
+            int graphemes = segmenter.count(chunk);
+            if (remaining < graphemes) {
+                GraphemeIndex index = segmenter.index(chunk);
+                return offset + utf8Length(chunk, index.start((int) remaining));
+            }
+            remaining -= graphemes;
+            offset += utf8Length(chunk, chunk.length());
+        }
+        return offset;
+    }
+
+    // Same set of chars as InputSanitizer strips; each one is a single UTF-8 byte
+    private static long countControlBytes(FileChannel in) throws IOException {
+        long count = 0;
+        for (long start = 0; start < in.size(); start += WINDOW_SIZE) {
+            MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(WINDOW_SIZE, in.size() - start));
+            while (window.hasRemaining()) {
+                byte b = window.get();
+                if (b >= 0 && InputSanitizer.isStripped((char) b)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int utf8Length(String text, int end) {
+        int length = 0;
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private GraphemeChunkReader chunkReader(FileChannel in) throws IOException {
+        return new GraphemeChunkReader(new MappedUtf8Reader(in, WINDOW_SIZE), CHUNK_SIZE, MAX_CHUNK_SIZE,
+                stringService::sanitizeStringInput);
+    }
+
+    // truncating the output would wipe the input while it is still mapped, whatever path or link names it
+    private static void requireDistinct(Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output " + output + " is the same file as input " + input);
+        }
+    }
+
+    private static FileChannel openOutput(Path output) throws IOException {
+        return FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeFully(FileChannel out, byte[] bytes, int offset, int length, long position)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.string_manipulator.service;
 
+import com.string_manipulator.dto.string.PipelineStep;
+import com.string_manipulator.util.GraphemeIndex;
+import com.string_manipulator.util.GraphemePipeline;
+import com.string_manipulator.util.GraphemeSegmenter;
+import com.string_manipulator.util.InputSanitizer;
+import com.string_manipulator.util.ParallelGraphemes;
+import com.string_manipulator.util.SanitizedText;
 import com.string_manipulator.util.ShiftedString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static com.string_manipulator.util.ReverseString.reverse;
+import static com.string_manipulator.util.ReverseString.reverseChars;
 
 
 @Service
@@ -13,13 +26,24 @@ public class StringService {
 
     private static final Logger logger = LoggerFactory.getLogger(StringService.class);
 
+    private final GraphemeSegmenter segmenter;
+    // texts with at least this many chars are segmented in parallel chunks; off (Integer.MAX_VALUE) by default
+    private final int parallelThreshold;
+
+    @Autowired
+    public StringService(GraphemeSegmenter segmenter,
+                         @Value("${string.parallel.threshold:2147483647}") int parallelThreshold) {
+        this.segmenter = segmenter;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     public String reverseString(String stringToReverse) {
 
         logger.info("Entering reverseString with input: {}", stringToReverse);
 
-        //input sanitation
-        String sanitizedInput = sanitizeStringInput(stringToReverse);
-        String result = reverse(sanitizedInput);
+        //input sanitation, together with the grapheme pre-scan
+        SanitizedText sanitizedInput = sanitize(stringToReverse);
+        String result = processReverse(sanitizedInput.text(), sanitizedInput.simple());
         logger.info("Exiting reverseString with result: {}", result);
         return result;
     }
@@ -37,8 +61,8 @@ public class StringService {
             return sanitizeStringInput(stringToShift);
         }
 
-        String sanitizedInput = sanitizeStringInput(stringToShift);
-        String result = processShift(sanitizedInput, shifts, normalizedDirection);
+        SanitizedText sanitizedInput = sanitize(stringToShift);
+        String result = processShift(sanitizedInput.text(), shifts, normalizedDirection, sanitizedInput.simple());
 
         long endTime = System.currentTimeMillis();
         logger.info("Shift operation completed in {}ms with result {}",
@@ -48,8 +72,50 @@ public class StringService {
 
     }
 
-    //change to public when testing if needed
-    private String normalizingDirection(String direction) {
+    /**************************************************************************/
+
+    // Sanitizes and segments once, then applies every step to the cluster order before writing the text
+    public String pipelineString(String text, List<PipelineStep> steps) {
+        long startTime = System.currentTimeMillis();
+        logger.info("Entering pipelineString with {} steps", steps.size());
+
+        String sanitizedInput = sanitizeStringInput(text);
+        GraphemeIndex graphemes = sanitizedInput.length() >= parallelThreshold
+                ? ParallelGraphemes.index(sanitizedInput, segmenter, ForkJoinPool.commonPool())
+                : segmenter.index(sanitizedInput);
+        GraphemePipeline pipeline = new GraphemePipeline(graphemes);
+
+        for (int i = 0; i < steps.size(); i++) {
+            PipelineStep step = steps.get(i);
+            switch (step.operation().trim().toLowerCase()) {
+                case "reverse" -> pipeline.reverse();
+                case "shift" -> {
+                    if (step.numOfShifts() == null || step.direction() == null || step.direction().isBlank()) {
+                        throw new IllegalArgumentException("Step " + i + ": shift needs numOfShifts and direction");
+                    }
+                    if ("left".equals(normalizingDirection(step.direction()))) {
+                        pipeline.shiftLeft(step.numOfShifts());
+                    } else {
+                        pipeline.shiftRight(step.numOfShifts());
+                    }
+                }
+                case "truncate" -> {
+                    if (step.maxGraphemes() == null) {
+                        throw new IllegalArgumentException("Step " + i + ": truncate needs maxGraphemes");
+                    }
+                    pipeline.truncate(step.maxGraphemes());
+                }
+                default -> throw new IllegalArgumentException("Step " + i + ": unknown operation " + step.operation());
+            }
+        }
+
+        String result = pipeline.render();
+        logger.info("Pipeline of {} steps completed in {}ms", steps.size(), System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    // the helpers below are package-private so StringStreamService and StringFileService can reuse them
+    String normalizingDirection(String direction) {
 
         logger.info("Normalizing direction: {}", direction);
         String normalized = direction.trim();              // remove outer whitespace
@@ -73,12 +139,39 @@ public class StringService {
         };
     }
 
-    private String processShift(String input, int shifts, String direction) {
+    // Picks the cheapest reverse for already sanitized text
+    String processReverse(String input) {
+        return processReverse(input, isSimpleText(input));
+    }
+
+    String processReverse(String input, boolean simple) {
+        if (simple) {
+            return reverseChars(input);
+        }
+        if (input.length() >= parallelThreshold) {
+            return ParallelGraphemes.reverse(input, segmenter, ForkJoinPool.commonPool());
+        }
+        return reverse(input, segmenter);
+    }
+
+    String processShift(String input, int shifts, String direction) {
+        return processShift(input, shifts, direction, isSimpleText(input));
+    }
+
+    String processShift(String input, int shifts, String direction, boolean simple) {
         try {
-            // Normalize numOfShifts to prevent unnecessary operations
+            // Normalize numOfShifts to prevent unnecessary operations; the rotation then reduces it
+            // by the grapheme count, see effectiveShifts
             int normalizedShifts = shifts % input.length();
             logger.info("Normalized numOfShifts from {} to {}", shifts, normalizedShifts);
-            return ShiftedString.shifting(input, normalizedShifts, direction);
+            if (simple) {
+                return ShiftedString.shiftingChars(input, normalizedShifts, direction);
+            }
+            if (input.length() >= parallelThreshold) {
+                GraphemeIndex graphemes = ParallelGraphemes.index(input, segmenter, ForkJoinPool.commonPool());
+                return ShiftedString.shifting(graphemes, normalizedShifts, direction);
+            }
+            return ShiftedString.shifting(input, normalizedShifts, direction, segmenter);
         } catch (Exception e) {
             logger.warn("Failed to shift string: input = {}, numOfShifts = {}, direction = {}",
                     input, shifts, direction);
@@ -86,22 +179,41 @@ public class StringService {
         }
     }
 
+    // A shift is reduced modulo the text's char length first and modulo its grapheme count second,
+    // as /shift always has; the streaming and file paths only know both totals at the end
+    static long effectiveShifts(long shifts, long chars, long graphemes) {
+        if (chars == 0 || graphemes == 0) {
+            return 0;
+        }
+        return shifts % chars % graphemes;
+    }
+
     /**************************************************************************/
 
 //Reusable Method
 
     // Input sanitization method
-    private String sanitizeStringInput(String input) {
-        // Remove control characters except common ones (tab, newline, carriage return)
-        String sanitized = input.replaceAll("[\\p{Cntrl}&&[^\r\n\t]]", "");
+    String sanitizeStringInput(String input) {
+        return sanitize(input).text();
+    }
 
-        if (!sanitized.equals(input)) {
-            logger.info("Warning: Control characters removed from input");
+    // Removes control characters except common ones (tab, newline, carriage return) in one pass,
+    // and reports whether the result can take the char-array fast path
+    SanitizedText sanitize(String input) {
+        SanitizedText sanitized = InputSanitizer.sanitize(input);
+
+        if (sanitized.modified()) {
+            logger.info("Warning: {} control characters removed from input", sanitized.strippedCount());
         }
 
         return sanitized;
     }
 
+    // Pre-scan for the char-array fast path: true when every char is its own grapheme cluster
+    boolean isSimpleText(String input) {
+        return InputSanitizer.isSimple(input);
+    }
+
 }
 
 
@@ -0,0 +1,215 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.util.BoundedInputStream;
+import com.string_manipulator.util.CharSpillFile;
+import com.string_manipulator.util.GraphemeChunkReader;
+import com.string_manipulator.util.GraphemeIndex;
+import com.string_manipulator.util.GraphemeSegmenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Reverse and shift for text bodies of any size, read from a {@link Reader} and written
+ * incrementally to a {@link Writer}. Text is processed in chunks that end on safe grapheme
+ * boundaries; anything larger than the memory budget is spilled to a temporary file.
+ * HTTP bodies are capped at {@code maxBytes}, so one request cannot fill the temp directory.
+ */
+@Service
+public class StringStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringStreamService.class);
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final StringService stringService;
+    private final GraphemeSegmenter segmenter;
+    // chars kept on the heap before reverse / right shift spill to disk
+    private final int memoryBudget;
+    // bytes of body one request may send; bounds the spill file and the work of one request
+    private final long maxBytes;
+
+    @Autowired
+    public StringStreamService(StringService stringService, GraphemeSegmenter segmenter,
+                               @Value("${string.stream.memory-budget:1048576}") int memoryBudget,
+                               @Value("${string.stream.max-bytes:268435456}") long maxBytes) {
+        this.stringService = stringService;
+        this.segmenter = segmenter;
+        this.memoryBudget = memoryBudget;
+        this.maxBytes = maxBytes;
+    }
+
+    /**************************************************************************/
+
+    /**
+     * Caps an HTTP body at {@code maxBytes}: a declared length past it is rejected before anything
+     * is read, and a body without one fails once it goes past the cap.
+     *
+     * @param declaredLength the Content-Length, or -1 when the body is chunked
+     */
+    public InputStream limit(InputStream body, long declaredLength) {
+        if (declaredLength > maxBytes) {
+            logger.warn("Streaming body of {} bytes rejected, limit is {} bytes", declaredLength, maxBytes);
+            throw new IllegalArgumentException("Body of " + declaredLength
+                    + " bytes exceeds the limit of " + maxBytes + " bytes");
+        }
+        return new BoundedInputStream(body, maxBytes);
+    }
+
+    /**
+     * Size to pick the execution tier by: at most one char per byte, and a body without a
+     * declared length may be as large as the cap.
+     */
+    public long expectedChars(long declaredLength) {
+        return declaredLength >= 0 ? declaredLength : maxBytes;
+    }
+
+    /**************************************************************************/
+
+    public void reverseStream(Reader input, Writer output) throws IOException {
+        logger.info("Entering reverseStream");
+        GraphemeChunkReader chunks = chunkReader(input);
+
+        StringBuilder inMemory = new StringBuilder();
+        String chunk;
+        while ((chunk = chunks.next()) != null) {
+            inMemory.append(chunk);
+            if (inMemory.length() > memoryBudget) {
+                spillReverse(inMemory.toString(), chunks, output);
+                return;
+            }
+        }
+
+        output.write(stringService.processReverse(inMemory.toString()));
+        output.flush();
+        logger.info("Exiting reverseStream in memory, {} chars", inMemory.length());
+    }
+
+    // every chunk is reversed on its own, then the chunks are replayed back to front
+    private void spillReverse(String buffered, GraphemeChunkReader chunks, Writer output) throws IOException {
+        try (CharSpillFile spill = new CharSpillFile("reverse-")) {
+            spill.append(stringService.processReverse(buffered), 0);
+            String chunk;
+            while ((chunk = chunks.next()) != null) {
+                spill.append(stringService.processReverse(chunk), 0);
+            }
+
+            for (int i = spill.chunkCount() - 1; i >= 0; i--) {
+                output.write(spill.read(i));
+            }
+            output.flush();
+            logger.info("Exiting reverseStream with {} spilled chunks ({} bytes)", spill.chunkCount(), spill.size());
+        }
+    }
+
+    /**************************************************************************/
+
+    public void shiftStream(Reader input, Writer output, int shifts, String direction) throws IOException {
+        logger.info("Entering shiftStream with shift = {}, direction = {}", shifts, direction);
+        if (shifts < 0) {
+            throw new IllegalArgumentException("Number of shifts cannot be negative");
+        }
+        String normalizedDirection = stringService.normalizingDirection(direction);
+        GraphemeChunkReader chunks = chunkReader(input);
+
+        if ("left".equals(normalizedDirection)) {
+            shiftLeftStream(chunks, output, shifts);
+        } else {
+            shiftRightStream(chunks, output, shifts);
+        }
+        output.flush();
+    }
+
+    // Only the first `shifts` graphemes are held back; everything after them streams straight through
+    private void shiftLeftStream(GraphemeChunkReader chunks, Writer output, int shifts) throws IOException {
+        StringBuilder head = new StringBuilder();
+        int needed = shifts;
+        String chunk;
+        while ((chunk = chunks.next()) != null) {
+            if (needed == 0) {
+                output.write(chunk);
+                continue;
+            }
+            GraphemeIndex graphemes = segmenter.index(chunk);
+            int taken = Math.min(needed, graphemes.count());
+            int split = graphemes.start(taken);
+            head.append(chunk, 0, split);
+            output.write(chunk, split, chunk.length() - split);
+            needed -= taken;
+        }
+
+        if (needed > 0) {
+            // the whole text is shorter than the shift, so it is all in `head`
+            output.write(shiftInMemory(head.toString(), shifts, "left"));
+        } else {
+            output.write(head.toString());
+        }
+    }
+
+    // A right shift needs the grapheme count first, so text past the budget is spilled and replayed
+    private void shiftRightStream(GraphemeChunkReader chunks, Writer output, int shifts) throws IOException {
+        StringBuilder inMemory = new StringBuilder();
+        String chunk;
+        while ((chunk = chunks.next()) != null) {
+            inMemory.append(chunk);
+            if (inMemory.length() > memoryBudget) {
+                spillShiftRight(inMemory.toString(), chunks, output, shifts);
+                return;
+            }
+        }
+        output.write(shiftInMemory(inMemory.toString(), shifts, "right"));
+    }
+
+    private void spillShiftRight(String buffered, GraphemeChunkReader chunks, Writer output, int shifts)
+            throws IOException {
+        try (CharSpillFile spill = new CharSpillFile("shift-")) {
+            long total = 0;
+            long chars = 0;
+            String chunk = buffered;
+            do {
+                int graphemes = segmenter.count(chunk);
+                spill.append(chunk, graphemes);
+                total += graphemes;
+                chars += chunk.length();
+            } while ((chunk = chunks.next()) != null);
+
+            // right by k == left by n - k; find the chunk holding the first grapheme of the output
+            long split = (total - StringService.effectiveShifts(shifts, chars, total)) % total;
+            int splitChunk = 0;
+            while (split >= spill.graphemeCount(splitChunk)) {
+                split -= spill.graphemeCount(splitChunk);
+                splitChunk++;
+            }
+
+            String first = spill.read(splitChunk);
+            int splitOffset = segmenter.index(first).start((int) split);
+            output.write(first, splitOffset, first.length() - splitOffset);
+            for (int i = splitChunk + 1; i < spill.chunkCount(); i++) {
+                output.write(spill.read(i));
+            }
+            for (int i = 0; i < splitChunk; i++) {
+                output.write(spill.read(i));
+            }
+            output.write(first, 0, splitOffset);
+            logger.info("Exiting shiftStream with {} spilled chunks ({} bytes)", spill.chunkCount(), spill.size());
+        }
+    }
+
+    private String shiftInMemory(String text, int shifts, String direction) {
+        if (shifts == 0 || text.isEmpty()) {
+            return text;
+        }
+        return stringService.processShift(text, shifts, direction);
+    }
+
+    private GraphemeChunkReader chunkReader(Reader input) {
+        // a run with no safe boundary may not grow past the memory budget either
+        return new GraphemeChunkReader(input, CHUNK_SIZE, memoryBudget, stringService::sanitizeStringInput);
+    }
+}
@@ -0,0 +1,226 @@
+package com.string_manipulator.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The {@code application/octet-stream} format of the array endpoints, all little-endian:
+ * <pre>
+ *  offset  size  field
+ *       0     1  element type: 1 = int32, 2 = int64, 3 = float64
+ *       1     1  operation parameter (sort: 0 asc / 1 desc, separate: 0 parity / 1 sign,
+ *                sum: 0 compensated / 1 pairwise)
+ *       2     2  reserved, 0
+ *       4     4  element count
+ *       8     4  aux: size of the first group in a separation response, 0 elsewhere
+ *      12     4  reserved, 0
+ *      16        count packed values
+ * </pre>
+ * Values are moved with bulk {@link java.nio.IntBuffer}/{@link java.nio.DoubleBuffer} views,
+ * never parsed one by one. int64 input is widened to float64, the same way JSON input wider
+ * than int is handled; values beyond +/-2^53, which a double cannot hold exactly, are rejected
+ * rather than rounded.
+ */
+public final class BinaryArrayCodec {
+
+    public static final int HEADER_SIZE = 16;
+    // values are decoded through buffers of this size, never the whole body at once
+    private static final int CHUNK_BYTES = 64 * 1024;
+    // every int64 in [-2^53, 2^53] converts to a double exactly
+    private static final long MAX_EXACT_INT64 = 1L << 53;
+
+    public enum ElementType {
+        INT32(1, Integer.BYTES),
+        INT64(2, Long.BYTES),
+        FLOAT64(3, Double.BYTES);
+
+        private final int code;
+        private final int size;
+
+        ElementType(int code, int size) {
+            this.code = code;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        static ElementType fromCode(int code) {
+            for (ElementType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown element type " + code);
+        }
+    }
+
+    /**
+     * A message header; the count is read as unsigned.
+     */
+    public record Header(ElementType type, int parameter, long count) {}
+
+    /**
+     * A decoded request: {@code ints} for int32 input, {@code doubles} otherwise.
+     */
+    public record Frame(ElementType type, int parameter, int[] ints, double[] doubles) {
+
+        public boolean isInt() {
+            return ints != null;
+        }
+
+        public int length() {
+            return isInt() ? ints.length : doubles.length;
+        }
+    }
+
+    private BinaryArrayCodec() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    public static Frame read(InputStream in, int maxCount) throws IOException {
+        Header header = readHeader(in);
+        if (header.count() > maxCount) {
+            throw new IllegalArgumentException("Element count must be between 0 and " + maxCount + ", got " + header.count());
+        }
+        int count = (int) header.count();
+        if (header.type() == ElementType.INT32) {
+            int[] ints = new int[count];
+            readInts(in, ints, 0, count);
+            return new Frame(header.type(), header.parameter(), ints, null);
+        }
+        double[] doubles = new double[count];
+        readDoubles(in, header.type(), doubles, 0, count);
+        return new Frame(header.type(), header.parameter(), null, doubles);
+    }
+
+    public static Header readHeader(InputStream in) throws IOException {
+        ByteBuffer header = readExactly(in, HEADER_SIZE, "header");
+        return new Header(ElementType.fromCode(header.get(0)), header.get(1) & 0xFF,
+                Integer.toUnsignedLong(header.getInt(4)));
+    }
+
+    // Reads `count` int32 values into target[offset...], one bounded chunk at a time
+    public static void readInts(InputStream in, int[] target, int offset, int count) throws IOException {
+        while (count > 0) {
+            int n = Math.min(count, CHUNK_BYTES / Integer.BYTES);
+            readExactly(in, n * Integer.BYTES, "values").asIntBuffer().get(target, offset, n);
+            offset += n;
+            count -= n;
+        }
+    }
+
+    // Reads `count` int64 or float64 values into target[offset...]; int64 is widened, and must be exact as a double
+    public static void readDoubles(InputStream in, ElementType type, double[] target, int offset, int count)
+            throws IOException {
+        if (type == ElementType.INT32) {
+            throw new IllegalArgumentException("int32 values cannot be read as doubles");
+        }
+        while (count > 0) {
+            int n = Math.min(count, CHUNK_BYTES / Long.BYTES);
+            ByteBuffer chunk = readExactly(in, n * Long.BYTES, "values");
+            if (type == ElementType.INT64) {
+                for (int i = 0; i < n; i++) {
+                    long value = chunk.getLong(i * Long.BYTES);
+                    if (value > MAX_EXACT_INT64 || value < -MAX_EXACT_INT64) {
+                        throw new IllegalArgumentException("int64 value " + value
+                                + " is outside +/-2^53 and cannot be handled exactly; send it as float64 if rounding is acceptable");
+                    }
+                    target[offset + i] = value;
+                }
+            } else {
+                chunk.asDoubleBuffer().get(target, offset, n);
+            }
+            offset += n;
+            count -= n;
+        }
+    }
+
+    /**************************************************************************/
+
+    // groups are written back to back; aux is the length of the first one when there are two
+    public static void write(OutputStream out, int parameter, int[]... groups) throws IOException {
+        int count = 0;
+        for (int[] group : groups) {
+            count += group.length;
+        }
+        ByteBuffer buffer = header(ElementType.INT32, parameter, count, groups.length > 1 ? groups[0].length : 0);
+        for (int[] group : groups) {
+            buffer.asIntBuffer().put(group);
+            buffer.position(buffer.position() + group.length * Integer.BYTES);
+        }
+        out.write(buffer.array());
+    }
+
+    public static void write(OutputStream out, int parameter, double[]... groups) throws IOException {
+        int count = 0;
+        for (double[] group : groups) {
+            count += group.length;
+        }
+        ByteBuffer buffer = header(ElementType.FLOAT64, parameter, count, groups.length > 1 ? groups[0].length : 0);
+        for (double[] group : groups) {
+            buffer.asDoubleBuffer().put(group);
+            buffer.position(buffer.position() + group.length * Double.BYTES);
+        }
+        out.write(buffer.array());
+    }
+
+    public static void write(OutputStream out, int parameter, long value) throws IOException {
+        ByteBuffer buffer = header(ElementType.INT64, parameter, 1, 0);
+        buffer.putLong(value);
+        out.write(buffer.array());
+    }
+
+    /**************************************************************************/
+
+    // Values only, no header, written one bounded chunk at a time
+    public static void writeValues(OutputStream out, int[] values) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int from = 0; from < values.length; from += CHUNK_BYTES / Integer.BYTES) {
+            int n = Math.min(values.length - from, CHUNK_BYTES / Integer.BYTES);
+            chunk.asIntBuffer().put(values, from, n);
+            out.write(chunk.array(), 0, n * Integer.BYTES);
+        }
+    }
+
+    public static void writeValues(OutputStream out, double[] values) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int from = 0; from < values.length; from += CHUNK_BYTES / Double.BYTES) {
+            int n = Math.min(values.length - from, CHUNK_BYTES / Double.BYTES);
+            chunk.asDoubleBuffer().put(values, from, n);
+            out.write(chunk.array(), 0, n * Double.BYTES);
+        }
+    }
+
+    // For callers that stream the values themselves; count goes out as unsigned
+    public static void writeHeader(OutputStream out, ElementType type, int parameter, long count) throws IOException {
+        out.write(header(type, parameter, 0, 0).putInt(4, (int) count).array());
+    }
+
+    // header written, positioned at the first value, with room for `count` values
+    private static ByteBuffer header(ElementType type, int parameter, int count, int aux) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * type.size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) type.code)
+                .put((byte) parameter)
+                .putShort((short) 0)
+                .putInt(count)
+                .putInt(aux)
+                .putInt(0);
+        return buffer;
+    }
+
+    private static ByteBuffer readExactly(InputStream in, int length, String what) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IllegalArgumentException("Binary body ended inside the " + what + ": expected "
+                    + length + " bytes, got " + bytes.length);
+        }
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
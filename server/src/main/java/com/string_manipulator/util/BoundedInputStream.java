@@ -0,0 +1,52 @@
+package com.string_manipulator.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Passes through at most {@code limit} bytes of the wrapped stream. Reading past the limit fails
+ * with {@link IllegalArgumentException}, so a body that declared no length still cannot grow without bound.
+ */
+public final class BoundedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long count;
+
+    public BoundedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    private void advance(long bytes) {
+        count += bytes;
+        if (count > limit) {
+            throw new IllegalArgumentException("Body exceeds the limit of " + limit + " bytes");
+        }
+    }
+}
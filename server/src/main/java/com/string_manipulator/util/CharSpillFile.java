@@ -0,0 +1,77 @@
+package com.string_manipulator.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Temporary file holding a sequence of text chunks as raw UTF-16, so any chunk can be read
+ * back by position without keeping the text on the heap. The file is deleted on close.
+ */
+public final class CharSpillFile implements Closeable {
+
+    private final FileChannel channel;
+    private long[] offsets = new long[16]; // offsets[i] = byte offset of chunk i, offsets[count] = file size
+    private int[] graphemeCounts = new int[16];
+    private int count;
+
+    public CharSpillFile(String prefix) throws IOException {
+        Path file = Files.createTempFile(prefix, ".spill");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * Appends a chunk along with its grapheme count, which callers can use to find a cluster
+     * without reading chunks back.
+     */
+    public void append(String chunk, int graphemes) throws IOException {
+        if (count + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            graphemeCounts = Arrays.copyOf(graphemeCounts, graphemeCounts.length * 2);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(chunk.length() * 2);
+        bytes.asCharBuffer().put(chunk);
+        long position = offsets[count];
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+        graphemeCounts[count] = graphemes;
+        offsets[++count] = position;
+    }
+
+    public int chunkCount() {
+        return count;
+    }
+
+    public int graphemeCount(int chunk) {
+        return graphemeCounts[chunk];
+    }
+
+    public String read(int chunk) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((int) (offsets[chunk + 1] - offsets[chunk]));
+        long position = offsets[chunk];
+        while (bytes.hasRemaining()) {
+            position += channel.read(bytes, position);
+        }
+        bytes.flip();
+        return bytes.asCharBuffer().toString();
+    }
+
+    /**
+     * Total bytes written to disk so far.
+     */
+    public long size() {
+        return offsets[count];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
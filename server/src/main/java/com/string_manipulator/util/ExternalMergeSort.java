@@ -0,0 +1,249 @@
+package com.string_manipulator.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Merge phase of an external sort. Runs that are already sorted are appended to one temporary
+ * file through a {@link FileChannel}. {@link #mergeTo} then streams them back in blocks and does a
+ * k-way merge with a binary heap of primitive {@code long} keys. The keys are chosen so that plain
+ * signed comparison gives the requested order, for ints and doubles, ascending and descending,
+ * so the heap never compares boxed values. The file is deleted on close.
+ */
+public final class ExternalMergeSort implements Closeable {
+
+    // read-ahead per run while merging, and the output buffer size
+    private static final int BLOCK_BYTES = 64 * 1024;
+
+    private final boolean integral;
+    private final boolean descending;
+    private final int elementSize;
+    private final FileChannel channel;
+    private long[] runOffsets = new long[16]; // runOffsets[i] = byte offset of run i, runOffsets[count] = file size
+    private int runCount;
+
+    public ExternalMergeSort(boolean integral, boolean descending) throws IOException {
+        this.integral = integral;
+        this.descending = descending;
+        this.elementSize = integral ? Integer.BYTES : Double.BYTES;
+        Path file = Files.createTempFile("array-sort-", ".spill");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * Spills the first {@code length} values of a run sorted in this instance's order.
+     */
+    public void addRun(int[] sorted, int length) throws IOException {
+        requireType(true);
+        ByteBuffer block = newBlock();
+        long position = runOffsets[runCount];
+        for (int from = 0; from < length; ) {
+            int n = Math.min(length - from, BLOCK_BYTES / Integer.BYTES);
+            block.clear();
+            block.asIntBuffer().put(sorted, from, n);
+            block.limit(n * Integer.BYTES);
+            position = writeFully(block, position);
+            from += n;
+        }
+        endRun(position);
+    }
+
+    public void addRun(double[] sorted, int length) throws IOException {
+        requireType(false);
+        ByteBuffer block = newBlock();
+        long position = runOffsets[runCount];
+        for (int from = 0; from < length; ) {
+            int n = Math.min(length - from, BLOCK_BYTES / Double.BYTES);
+            block.clear();
+            block.asDoubleBuffer().put(sorted, from, n);
+            block.limit(n * Double.BYTES);
+            position = writeFully(block, position);
+            from += n;
+        }
+        endRun(position);
+    }
+
+    public int runCount() {
+        return runCount;
+    }
+
+    /**
+     * Bytes written to disk so far.
+     */
+    public long spillBytes() {
+        return runOffsets[runCount];
+    }
+
+    /**************************************************************************/
+
+    /**
+     * Writes every spilled value to {@code out} in sorted order as packed little-endian values.
+     */
+    public void mergeTo(OutputStream out) throws IOException {
+        RunCursor[] cursors = new RunCursor[runCount];
+        long[] heapKeys = new long[runCount];
+        int[] heapRuns = new int[runCount];
+        int size = 0;
+        for (int run = 0; run < runCount; run++) {
+            cursors[run] = new RunCursor(runOffsets[run], runOffsets[run + 1]);
+            if (cursors[run].hasNext()) {
+                heapKeys[size] = cursors[run].nextKey();
+                heapRuns[size] = run;
+                siftUp(heapKeys, heapRuns, size++);
+            }
+        }
+
+        ByteBuffer output = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (size > 0) {
+            if (output.remaining() < elementSize) {
+                out.write(output.array(), 0, output.position());
+                output.clear();
+            }
+            long key = heapKeys[0];
+            if (integral) {
+                output.putInt((int) fromKey(key));
+            } else {
+                output.putLong(fromKey(key));
+            }
+
+            RunCursor cursor = cursors[heapRuns[0]];
+            if (cursor.hasNext()) {
+                heapKeys[0] = cursor.nextKey();
+            } else {
+                size--;
+                heapKeys[0] = heapKeys[size];
+                heapRuns[0] = heapRuns[size];
+            }
+            siftDown(heapKeys, heapRuns, size);
+        }
+        out.write(output.array(), 0, output.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**************************************************************************/
+
+    // Ints are already signed-comparable. For doubles, flipping the 63 low bits of negatives
+    // orders them like Double.compare (-0.0 before 0.0). Complementing reverses either order.
+    private long toKey(long raw) {
+        long key = integral ? raw : raw ^ ((raw >> 63) & Long.MAX_VALUE);
+        return descending ? ~key : key;
+    }
+
+    // the int value, or the raw double bits
+    private long fromKey(long key) {
+        long raw = descending ? ~key : key;
+        return integral ? raw : raw ^ ((raw >> 63) & Long.MAX_VALUE);
+    }
+
+    private static void siftUp(long[] keys, int[] runs, int index) {
+        long key = keys[index];
+        int run = runs[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[index] = keys[parent];
+            runs[index] = runs[parent];
+            index = parent;
+        }
+        keys[index] = key;
+        runs[index] = run;
+    }
+
+    private static void siftDown(long[] keys, int[] runs, int size) {
+        if (size == 0) {
+            return;
+        }
+        long key = keys[0];
+        int run = runs[0];
+        int index = 0;
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[index] = keys[child];
+            runs[index] = runs[child];
+            index = child;
+        }
+        keys[index] = key;
+        runs[index] = run;
+    }
+
+    /**************************************************************************/
+
+    private void requireType(boolean intRun) {
+        if (intRun != integral) {
+            throw new IllegalStateException("Run type does not match the sort's element type");
+        }
+    }
+
+    private void endRun(long position) {
+        if (runCount + 1 >= runOffsets.length) {
+            runOffsets = Arrays.copyOf(runOffsets, runOffsets.length * 2);
+        }
+        runOffsets[++runCount] = position;
+    }
+
+    private long writeFully(ByteBuffer block, long position) throws IOException {
+        while (block.hasRemaining()) {
+            position += channel.write(block, position);
+        }
+        return position;
+    }
+
+    private static ByteBuffer newBlock() {
+        return ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Streams one run back from the spill file a block at a time
+    private final class RunCursor {
+
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+        private final long end;
+
+        RunCursor(long start, long end) {
+            this.position = start;
+            this.end = end;
+            block.limit(0);
+        }
+
+        boolean hasNext() {
+            return block.hasRemaining() || position < end;
+        }
+
+        long nextKey() throws IOException {
+            if (!block.hasRemaining()) {
+                block.clear();
+                block.limit((int) Math.min(BLOCK_BYTES, end - position));
+                while (block.hasRemaining()) {
+                    int read = channel.read(block, position);
+                    if (read < 0) {
+                        throw new IOException("Spill file ended early");
+                    }
+                    position += read;
+                }
+                block.flip();
+            }
+            return toKey(integral ? block.getInt() : block.getLong());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.string_manipulator.util;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each value occurs, using open-addressing hash tables over primitive keys, so
+ * nothing is boxed. Each table has two parts:
+ * <ul>
+ *     <li>A slot array of keys plus entry numbers, probed linearly from a Fibonacci hash. A lookup
+ *     usually touches one or two neighbouring slots.</li>
+ *     <li>Dense key and count arrays in first-occurrence order. These are what the results are
+ *     read from, and what a rehash reinserts from.</li>
+ * </ul>
+ * Tables are presized from the input length (capped at {@link #PRESIZE_LIMIT} entries), so
+ * typical inputs never rehash. {@link #byFrequency} orders entries by count with a partial sort:
+ * a selection finds the k-th largest count, and only the k winners are sorted.
+ */
+public final class FrequencyCounter {
+
+    // most entries a table is presized for; larger inputs grow by doubling as new values appear
+    private static final int PRESIZE_LIMIT = 1 << 20;
+    private static final int MIN_CAPACITY = 16;
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    private FrequencyCounter() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    public static IntTable count(int[] array) {
+        IntTable table = new IntTable(Math.min(array.length, PRESIZE_LIMIT));
+        for (int value : array) {
+            table.add(value);
+        }
+        return table;
+    }
+
+    public static DoubleTable count(double[] array) {
+        DoubleTable table = new DoubleTable(Math.min(array.length, PRESIZE_LIMIT));
+        for (double value : array) {
+            table.add(value);
+        }
+        return table;
+    }
+
+    /**
+     * Indexes of the {@code limit} entries with the highest counts, highest first. Equal counts
+     * keep first-occurrence order.
+     */
+    public static int[] byFrequency(int[] counts, int size, int limit) {
+        int k = Math.min(limit, size);
+        if (k == 0) {
+            return new int[0];
+        }
+        long[] packed = new long[k];
+        int p = 0;
+        if (k < size) {
+            int[] work = Arrays.copyOf(counts, size);
+            SelectEngine.selectRanks(work, new int[]{size - k});
+            int threshold = work[size - k];
+            int ties = k;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] > threshold) {
+                    ties--;
+                }
+            }
+            for (int i = 0; i < size && p < k; i++) {
+                int count = counts[i];
+                if (count > threshold || (count == threshold && ties-- > 0)) {
+                    packed[p++] = pack(count, i);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                packed[p++] = pack(counts[i], i);
+            }
+        }
+        Arrays.sort(packed);
+        int[] entries = new int[k];
+        for (int i = 0; i < k; i++) {
+            entries[i] = (int) packed[i];
+        }
+        return entries;
+    }
+
+    /**************************************************************************/
+
+    public static final class IntTable {
+        private int[] slotKeys;
+        private int[] slotEntries; // entry index + 1; 0 marks an empty slot
+        private int shift;
+        private int growAt;
+        private int[] keys;
+        private int[] counts;
+        private int size;
+
+        public IntTable(int expectedSize) {
+            allocateSlots(capacityFor(expectedSize));
+            keys = new int[Math.max(expectedSize, MIN_CAPACITY)];
+            counts = new int[keys.length];
+        }
+
+        public void add(int value) {
+            int mask = slotKeys.length - 1;
+            int slot = (value * INT_PHI) >>> shift;
+            int entry;
+            while ((entry = slotEntries[slot]) != 0) {
+                if (slotKeys[slot] == value) {
+                    counts[entry - 1]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            keys[size] = value;
+            counts[size] = 1;
+            slotKeys[slot] = value;
+            slotEntries[slot] = ++size;
+            if (size > growAt) {
+                rehash();
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Entry indexes to report: the first limit in first-occurrence order, or the most frequent
+        public int[] order(boolean byFrequency, int limit) {
+            return byFrequency ? byFrequency(counts, size, limit) : firstEntries(size, limit);
+        }
+
+        public int[] values(int[] entries) {
+            int[] values = new int[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                values[i] = keys[entries[i]];
+            }
+            return values;
+        }
+
+        public int[] counts(int[] entries) {
+            return gather(counts, entries);
+        }
+
+        private void rehash() {
+            allocateSlots(slotKeys.length * 2);
+            int mask = slotKeys.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int slot = (keys[entry] * INT_PHI) >>> shift;
+                while (slotEntries[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = keys[entry];
+                slotEntries[slot] = entry + 1;
+            }
+        }
+
+        private void allocateSlots(int capacity) {
+            slotKeys = new int[capacity];
+            slotEntries = new int[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            growAt = maxEntries(capacity);
+        }
+    }
+
+    /**
+     * Keyed by the raw bits of the value plus 0.0, which folds -0.0 into 0.0. Each entry reports
+     * the value as it first appeared.
+     */
+    public static final class DoubleTable {
+        private long[] slotKeys;
+        private int[] slotEntries; // entry index + 1; 0 marks an empty slot
+        private int shift;
+        private int growAt;
+        private double[] keys;
+        private int[] counts;
+        private int size;
+
+        public DoubleTable(int expectedSize) {
+            allocateSlots(capacityFor(expectedSize));
+            keys = new double[Math.max(expectedSize, MIN_CAPACITY)];
+            counts = new int[keys.length];
+        }
+
+        public void add(double value) {
+            long bits = Double.doubleToRawLongBits(value + 0.0);
+            int mask = slotKeys.length - 1;
+            int slot = (int) ((bits * LONG_PHI) >>> shift);
+            int entry;
+            while ((entry = slotEntries[slot]) != 0) {
+                if (slotKeys[slot] == bits) {
+                    counts[entry - 1]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            keys[size] = value;
+            counts[size] = 1;
+            slotKeys[slot] = bits;
+            slotEntries[slot] = ++size;
+            if (size > growAt) {
+                rehash();
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int[] order(boolean byFrequency, int limit) {
+            return byFrequency ? byFrequency(counts, size, limit) : firstEntries(size, limit);
+        }
+
+        public double[] values(int[] entries) {
+            double[] values = new double[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                values[i] = keys[entries[i]];
+            }
+            return values;
+        }
+
+        public int[] counts(int[] entries) {
+            return gather(counts, entries);
+        }
+
+        private void rehash() {
+            allocateSlots(slotKeys.length * 2);
+            int mask = slotKeys.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                long bits = Double.doubleToRawLongBits(keys[entry] + 0.0);
+                int slot = (int) ((bits * LONG_PHI) >>> shift);
+                while (slotEntries[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = bits;
+                slotEntries[slot] = entry + 1;
+            }
+        }
+
+        private void allocateSlots(int capacity) {
+            slotKeys = new long[capacity];
+            slotEntries = new int[capacity];
+            shift = Long.numberOfLeadingZeros(capacity) + 1;
+            growAt = maxEntries(capacity);
+        }
+    }
+
+    /**************************************************************************/
+
+    // Smallest power of two that holds expectedSize entries under the 3/4 load limit
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int maxEntries(int capacity) {
+        return capacity / 4 * 3;
+    }
+
+    // Ascending packed keys sort by count descending, then by entry (first occurrence) ascending
+    private static long pack(int count, int entry) {
+        return ((long) (Integer.MAX_VALUE - count) << 32) | entry;
+    }
+
+    private static int[] firstEntries(int size, int limit) {
+        int[] entries = new int[Math.min(limit, size)];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = i;
+        }
+        return entries;
+    }
+
+    private static int[] gather(int[] source, int[] entries) {
+        int[] gathered = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            gathered[i] = source[entries[i]];
+        }
+        return gathered;
+    }
+}
@@ -0,0 +1,186 @@
+package com.string_manipulator.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact two-stage lookup table for the UAX #29 Grapheme_Cluster_Break property plus the
+ * Extended_Pictographic flag, one byte per code point.
+ * The table is generated once when the class loads, from the Unicode character data shipped
+ * with the JDK ({@link Character}) and the short UAX #29 exception lists below.
+ * Lookups afterwards are two array reads and never allocate.
+ */
+public final class GraphemeBreakProperty {
+
+    public static final int OTHER = 0;
+    public static final int CR = 1;
+    public static final int LF = 2;
+    public static final int CONTROL = 3;
+    public static final int EXTEND = 4;
+    public static final int ZWJ = 5;
+    public static final int REGIONAL_INDICATOR = 6;
+    public static final int PREPEND = 7;
+    public static final int SPACING_MARK = 8;
+    public static final int L = 9;
+    public static final int V = 10;
+    public static final int T = 11;
+    public static final int LV = 12;
+    public static final int LVT = 13;
+
+    /** Set on top of the break property for Extended_Pictographic code points. */
+    public static final int EXTENDED_PICTOGRAPHIC = 0x10;
+    private static final int PROPERTY_MASK = 0x0F;
+
+    private static final int BLOCK_SHIFT = 7;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    // Other_Grapheme_Extend code points (ranges as inclusive pairs)
+    private static final int[] OTHER_GRAPHEME_EXTEND = {
+            0x09BE, 0x09BE, 0x09D7, 0x09D7, 0x0B3E, 0x0B3E, 0x0B57, 0x0B57, 0x0BBE, 0x0BBE,
+            0x0BD7, 0x0BD7, 0x0CC2, 0x0CC2, 0x0CD5, 0x0CD6, 0x0D3E, 0x0D3E, 0x0D57, 0x0D57,
+            0x0DCF, 0x0DCF, 0x0DDF, 0x0DDF, 0x1B35, 0x1B35, 0x200C, 0x200C, 0x302E, 0x302F,
+            0xFF9E, 0xFF9F, 0x1133E, 0x1133E, 0x11357, 0x11357, 0x114B0, 0x114B0, 0x114BD, 0x114BD,
+            0x115AF, 0x115AF, 0x11930, 0x11930, 0x1D165, 0x1D165, 0x1D16E, 0x1D172, 0xE0020, 0xE007F
+    };
+
+    // Prepended_Concatenation_Mark plus the Consonant_Preceding_Repha/Consonant_Prefixed letters
+    private static final int[] PREPEND_RANGES = {
+            0x0600, 0x0605, 0x06DD, 0x06DD, 0x070F, 0x070F, 0x0890, 0x0891, 0x08E2, 0x08E2,
+            0x0D4E, 0x0D4E, 0x110BD, 0x110BD, 0x110CD, 0x110CD, 0x111C2, 0x111C3, 0x1193F, 0x1193F,
+            0x11941, 0x11941, 0x11A3A, 0x11A3A, 0x11A84, 0x11A89, 0x11D46, 0x11D46, 0x11F02, 0x11F02
+    };
+
+    // Spacing combining marks (Mc) that UAX #29 excludes from SpacingMark
+    private static final int[] NOT_SPACING_MARK = {
+            0x102B, 0x102C, 0x1038, 0x1038, 0x1062, 0x1064, 0x1067, 0x106D, 0x1083, 0x1083,
+            0x1087, 0x108C, 0x108F, 0x108F, 0x109A, 0x109C, 0x1A61, 0x1A61, 0x1A63, 0x1A64,
+            0xAA7B, 0xAA7B, 0xAA7D, 0xAA7D, 0x11720, 0x11721
+    };
+
+    // Unassigned code points that are Default_Ignorable, and therefore Control
+    private static final int[] UNASSIGNED_IGNORABLE = {
+            0x2065, 0x2065, 0xFFF0, 0xFFF8, 0xE0000, 0xE0000, 0xE0002, 0xE001F,
+            0xE0080, 0xE00FF, 0xE01F0, 0xE0FFF
+    };
+
+    private static final char[] STAGE_ONE;
+    private static final byte[] STAGE_TWO;
+
+    static {
+        int blockCount = (Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT;
+        char[] stageOne = new char[blockCount];
+        Map<ByteBuffer, Integer> seenBlocks = new HashMap<>();
+        byte[] stageTwo = new byte[BLOCK_SIZE * 64];
+        int stageTwoBlocks = 0;
+
+        byte[] block = new byte[BLOCK_SIZE];
+        for (int b = 0; b < blockCount; b++) {
+            int base = b << BLOCK_SHIFT;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                block[i] = (byte) compute(base + i);
+            }
+            // identical blocks (most of the unassigned planes) share one copy in stage two
+            ByteBuffer key = ByteBuffer.wrap(block.clone());
+            Integer existing = seenBlocks.get(key);
+            if (existing == null) {
+                existing = stageTwoBlocks++;
+                seenBlocks.put(key, existing);
+                if (stageTwoBlocks * BLOCK_SIZE > stageTwo.length) {
+                    stageTwo = Arrays.copyOf(stageTwo, stageTwo.length * 2);
+                }
+                System.arraycopy(block, 0, stageTwo, existing * BLOCK_SIZE, BLOCK_SIZE);
+            }
+            stageOne[b] = (char) (int) existing;
+        }
+
+        STAGE_ONE = stageOne;
+        STAGE_TWO = Arrays.copyOf(stageTwo, stageTwoBlocks * BLOCK_SIZE);
+    }
+
+    private GraphemeBreakProperty() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * Raw table entry: the break property in the low bits, {@link #EXTENDED_PICTOGRAPHIC} on top.
+     */
+    public static int of(int codePoint) {
+        return STAGE_TWO[(STAGE_ONE[codePoint >> BLOCK_SHIFT] << BLOCK_SHIFT) | (codePoint & (BLOCK_SIZE - 1))];
+    }
+
+    public static int breakProperty(int entry) {
+        return entry & PROPERTY_MASK;
+    }
+
+    public static boolean isExtendedPictographic(int entry) {
+        return (entry & EXTENDED_PICTOGRAPHIC) != 0;
+    }
+
+    private static int compute(int cp) {
+        int property = computeBreakProperty(cp);
+        return Character.isExtendedPictographic(cp) ? property | EXTENDED_PICTOGRAPHIC : property;
+    }
+
+    private static int computeBreakProperty(int cp) {
+        if (cp == '\r') {
+            return CR;
+        }
+        if (cp == '\n') {
+            return LF;
+        }
+        if (cp == 0x200D) {
+            return ZWJ;
+        }
+        if (cp >= 0x1F1E6 && cp <= 0x1F1FF) {
+            return REGIONAL_INDICATOR;
+        }
+        if (inRanges(PREPEND_RANGES, cp)) {
+            return PREPEND;
+        }
+
+        int type = Character.getType(cp);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                || inRanges(OTHER_GRAPHEME_EXTEND, cp) || Character.isEmojiModifier(cp)) {
+            return EXTEND;
+        }
+        // lone surrogates are General_Category Cs, which UAX #29 puts in Control
+        if (type == Character.CONTROL || type == Character.LINE_SEPARATOR
+                || type == Character.PARAGRAPH_SEPARATOR || type == Character.FORMAT
+                || type == Character.SURROGATE
+                || (type == Character.UNASSIGNED && inRanges(UNASSIGNED_IGNORABLE, cp))) {
+            return CONTROL;
+        }
+        if ((type == Character.COMBINING_SPACING_MARK && !inRanges(NOT_SPACING_MARK, cp))
+                || cp == 0x0E33 || cp == 0x0EB3) {
+            return SPACING_MARK;
+        }
+        return hangulProperty(cp);
+    }
+
+    private static int hangulProperty(int cp) {
+        if ((cp >= 0x1100 && cp <= 0x115F) || (cp >= 0xA960 && cp <= 0xA97C)) {
+            return L;
+        }
+        if ((cp >= 0x1160 && cp <= 0x11A7) || (cp >= 0xD7B0 && cp <= 0xD7C6)) {
+            return V;
+        }
+        if ((cp >= 0x11A8 && cp <= 0x11FF) || (cp >= 0xD7CB && cp <= 0xD7FB)) {
+            return T;
+        }
+        if (cp >= 0xAC00 && cp <= 0xD7A3) {
+            return (cp - 0xAC00) % 28 == 0 ? LV : LVT;
+        }
+        return OTHER;
+    }
+
+    private static boolean inRanges(int[] ranges, int cp) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (cp >= ranges[i] && cp <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
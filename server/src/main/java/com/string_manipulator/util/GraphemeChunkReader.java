@@ -0,0 +1,80 @@
+package com.string_manipulator.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reads text from a {@link Reader} in chunks that end on safe grapheme boundaries
+ * (see {@link ParallelGraphemes#isSafeBoundary}), so no cluster is ever split across chunks
+ * and each chunk can be segmented on its own.
+ */
+public final class GraphemeChunkReader {
+
+    private final Reader reader;
+    private final int chunkSize;
+    private final int maxChunkSize;
+    private final UnaryOperator<String> filter;
+    private final char[] readBuffer;
+    private final StringBuilder pending;
+    private boolean endOfInput;
+
+    /**
+     * @param chunkSize    preferred chunk length in chars; a chunk only grows past it when the
+     *                     text has no safe boundary nearby
+     * @param maxChunkSize longest run of text without a safe boundary that is buffered; past it
+     *                     {@link #next()} fails instead of holding the rest of the input
+     * @param filter       applied to every block as it is read, e.g. input sanitization
+     */
+    public GraphemeChunkReader(Reader reader, int chunkSize, int maxChunkSize, UnaryOperator<String> filter) {
+        this.reader = reader;
+        this.chunkSize = chunkSize;
+        this.maxChunkSize = Math.max(chunkSize, maxChunkSize);
+        this.filter = filter;
+        this.readBuffer = new char[chunkSize];
+        this.pending = new StringBuilder(chunkSize * 2);
+    }
+
+    /**
+     * Next chunk of the (filtered) text, or {@code null} once the input is exhausted.
+     *
+     * @throws IllegalArgumentException when no safe boundary shows up within {@code maxChunkSize} chars
+     */
+    public String next() throws IOException {
+        int limit = chunkSize;
+        while (true) {
+            // keep at least one char of lookahead past the candidate cut so pairs are complete
+            while (!endOfInput && pending.length() <= limit + 1) {
+                int read = reader.read(readBuffer);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    pending.append(filter.apply(new String(readBuffer, 0, read)));
+                }
+            }
+
+            if (endOfInput) {
+                if (pending.isEmpty()) {
+                    return null;
+                }
+                String last = pending.toString();
+                pending.setLength(0);
+                return last;
+            }
+
+            for (int cut = Math.min(limit, pending.length() - 2); cut > 0; cut--) {
+                if (ParallelGraphemes.isSafeBoundary(pending, cut)) {
+                    String chunk = pending.substring(0, cut);
+                    pending.delete(0, cut);
+                    return chunk;
+                }
+            }
+            // no safe boundary yet (e.g. a very long combining sequence): read further, up to the cap
+            if (limit >= maxChunkSize) {
+                throw new IllegalArgumentException("Text has no grapheme boundary it can be split at within "
+                        + maxChunkSize + " chars, so it cannot be processed in bounded memory");
+            }
+            limit = (int) Math.min((long) limit * 2, maxChunkSize);
+        }
+    }
+}
@@ -31,30 +31,29 @@ public class GraphemeCluster {
      * Gets the number of grapheme clusters (better than codePointCount for human length).
      */
     public static int graphemeLength(String text) {
+        return graphemeLength(text, JdkGraphemeSegmenter.INSTANCE);
+    }
 
-
-        BreakIterator iterator = BreakIterator.getCharacterInstance();
-        iterator.setText(text);
-
-        int count = 0;
-        for (int end = iterator.first(); end != BreakIterator.DONE; end = iterator.next()) {
-            count++;
-        }
-        return count;
+    public static int graphemeLength(String text, GraphemeSegmenter segmenter) {
+        return segmenter.count(text);
     }
 
     /**
      * Safe truncate to max graphemes (adds ellipsis if needed).
      */
     public static String truncate(String text, int maxGraphemes) {
-        List<String> graphemes = splitIntoGraphemes(text);
-        if (graphemes.size() <= maxGraphemes) {
+        return truncate(text, maxGraphemes, JdkGraphemeSegmenter.INSTANCE);
+    }
+
+    public static String truncate(String text, int maxGraphemes, GraphemeSegmenter segmenter) {
+        GraphemeIndex graphemes = segmenter.index(text);
+        if (graphemes.count() <= maxGraphemes) {
             return text;
         }
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < maxGraphemes; i++) {
-            sb.append(graphemes.get(i));
-        }
-        return sb.append("…").toString();
+        // clusters [0, maxGraphemes) are a prefix of the text, so copy them in one go
+        char[] truncated = new char[graphemes.start(maxGraphemes) + 1];
+        int pos = graphemes.copyRange(0, maxGraphemes, truncated, 0);
+        truncated[pos] = '…';
+        return new String(truncated);
     }
 }
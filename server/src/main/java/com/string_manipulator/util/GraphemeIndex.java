@@ -0,0 +1,64 @@
+package com.string_manipulator.util;
+
+/**
+ * Grapheme cluster boundaries of a text, stored as char offsets into the original string.
+ * Cluster {@code i} spans {@code [start(i), end(i))}, so callers can copy char ranges
+ * straight out of the text instead of allocating a substring per cluster.
+ * Built by a {@link GraphemeSegmenter}.
+ */
+public final class GraphemeIndex {
+
+    private final String text;
+    private final int[] boundaries; // boundaries[0] == 0, boundaries[count] == text.length()
+    private final int count;
+
+    GraphemeIndex(String text, int[] boundaries, int count) {
+        this.text = text;
+        this.boundaries = boundaries;
+        this.count = count;
+    }
+
+    /**
+     * Builds the index for the given text with the JDK segmenter.
+     */
+    public static GraphemeIndex of(String text) {
+        return JdkGraphemeSegmenter.INSTANCE.index(text);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Number of grapheme clusters in the text.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Char offset where cluster {@code i} starts; {@code start(count())} is the text length.
+     */
+    public int start(int i) {
+        return boundaries[i];
+    }
+
+    /**
+     * Char offset where cluster {@code i} ends (exclusive).
+     */
+    public int end(int i) {
+        return boundaries[i + 1];
+    }
+
+    /**
+     * Copies clusters {@code [from, to)} into {@code dest} at {@code destPos} as one contiguous char range.
+     *
+     * @return the position in {@code dest} just after the copied chars
+     */
+    public int copyRange(int from, int to, char[] dest, int destPos) {
+        int begin = boundaries[from];
+        int end = boundaries[to];
+        text.getChars(begin, end, dest, destPos);
+        return destPos + (end - begin);
+    }
+}
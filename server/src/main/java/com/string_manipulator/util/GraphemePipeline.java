@@ -0,0 +1,115 @@
+package com.string_manipulator.util;
+
+/**
+ * A chain of reverse, shift and truncate steps over the clusters of one {@link GraphemeIndex}.
+ * Steps never touch the text: reverse and shift only update a rotation offset and a direction
+ * flag, and truncate keeps the first clusters of the current order in an index array.
+ * {@link #render()} then writes the result in a single pass, so a long chain costs about
+ * the same as one operation.
+ */
+public final class GraphemePipeline {
+
+    // index array entry standing for the '…' that truncate appends
+    private static final int ELLIPSIS = -1;
+
+    private final GraphemeIndex graphemes;
+    private int[] order;      // null until the first truncate: position p is cluster p
+    private int size;         // clusters (and ellipses) in the current sequence
+    private int charLength;   // chars the current sequence renders to
+    private int offset;       // position of current element 0 in `order`
+    private boolean reversed; // current element j sits at offset - j instead of offset + j
+
+    public GraphemePipeline(GraphemeIndex graphemes) {
+        this.graphemes = graphemes;
+        this.size = graphemes.count();
+        this.charLength = graphemes.text().length();
+    }
+
+    /**
+     * Number of graphemes in the current sequence, counting each ellipsis as one.
+     */
+    public int size() {
+        return size;
+    }
+
+    public GraphemePipeline reverse() {
+        if (size > 1) {
+            offset = floorMod(reversed ? offset + 1 - size : offset + size - 1);
+            reversed = !reversed;
+        }
+        return this;
+    }
+
+    public GraphemePipeline shiftLeft(int shifts) {
+        if (size > 0) {
+            int k = shifts % size;
+            offset = floorMod(reversed ? offset - k : offset + k);
+        }
+        return this;
+    }
+
+    public GraphemePipeline shiftRight(int shifts) {
+        if (size > 0) {
+            shiftLeft(size - shifts % size);
+        }
+        return this;
+    }
+
+    /**
+     * Keeps the first {@code maxGraphemes} elements and appends an ellipsis, like
+     * {@link GraphemeCluster#truncate(String, int)}; shorter sequences are left alone.
+     */
+    public GraphemePipeline truncate(int maxGraphemes) {
+        if (size <= maxGraphemes) {
+            return this;
+        }
+        int[] kept = new int[maxGraphemes + 1];
+        int length = 1;
+        for (int j = 0; j < maxGraphemes; j++) {
+            kept[j] = entry(j);
+            length += kept[j] == ELLIPSIS ? 1 : graphemes.end(kept[j]) - graphemes.start(kept[j]);
+        }
+        kept[maxGraphemes] = ELLIPSIS;
+
+        order = kept;
+        size = kept.length;
+        charLength = length;
+        offset = 0;
+        reversed = false;
+        return this;
+    }
+
+    /**
+     * Writes the current sequence out. Runs of clusters that are still adjacent in the
+     * original text are copied as one char range.
+     */
+    public String render() {
+        char[] out = new char[charLength];
+        int pos = 0;
+        int j = 0;
+        while (j < size) {
+            int first = entry(j++);
+            if (first == ELLIPSIS) {
+                out[pos++] = '…';
+                continue;
+            }
+            int last = first;
+            while (j < size && entry(j) == last + 1) {
+                last++;
+                j++;
+            }
+            pos = graphemes.copyRange(first, last + 1, out, pos);
+        }
+        return new String(out);
+    }
+
+    // cluster index (or ELLIPSIS) at position j of the current sequence
+    private int entry(int j) {
+        int p = floorMod(reversed ? offset - j : offset + j);
+        return order == null ? p : order[p];
+    }
+
+    private int floorMod(int position) {
+        return Math.floorMod(position, size);
+    }
+}
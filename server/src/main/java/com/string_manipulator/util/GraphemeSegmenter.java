@@ -0,0 +1,31 @@
+package com.string_manipulator.util;
+
+/**
+ * Finds grapheme cluster (user-perceived character) boundaries.
+ * Implementations are stateless and safe to share between threads.
+ */
+public interface GraphemeSegmenter {
+
+    /**
+     * Writes the end offset of every grapheme cluster in {@code [from, to)} into {@code out},
+     * starting at {@code pos}. {@code from} must itself be a cluster boundary.
+     *
+     * @return the position in {@code out} just after the last offset written
+     */
+    int segment(String text, int from, int to, int[] out, int pos);
+
+    /**
+     * Number of grapheme clusters in the text.
+     */
+    int count(String text);
+
+    /**
+     * Builds a {@link GraphemeIndex} over the whole text.
+     */
+    default GraphemeIndex index(String text) {
+        // one slot per char is the worst case (every char its own cluster), plus the leading boundary
+        int[] boundaries = new int[text.length() + 1];
+        int count = segment(text, 0, text.length(), boundaries, 1) - 1;
+        return new GraphemeIndex(text, boundaries, count);
+    }
+}
@@ -0,0 +1,73 @@
+package com.string_manipulator.util;
+
+/**
+ * Strips control characters (everything {@code \p{Cntrl}} matches except tab, newline and
+ * carriage return) in one pass, without a regex, and runs the grapheme pre-scan in the same pass.
+ * Clean input comes back as the same instance; otherwise only the valid runs are copied.
+ */
+public final class InputSanitizer {
+
+    // First combining diacritical mark; everything below it is a standalone grapheme cluster
+    private static final char FIRST_COMBINING_MARK = '\u0300';
+
+    private InputSanitizer() {
+        /* This utility class should not be instantiated */
+    }
+
+    public static SanitizedText sanitize(String input) {
+        int length = input.length();
+        char[] kept = null; // allocated at the first control char
+        int keptLength = 0;
+        int runStart = 0;
+        boolean simple = true;
+        char previous = 0; // last kept char, so a CR LF pair split by a stripped char is still seen
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (isStripped(c)) {
+                if (kept == null) {
+                    kept = new char[length - 1];
+                }
+                input.getChars(runStart, i, kept, keptLength);
+                keptLength += i - runStart;
+                runStart = i + 1;
+                continue;
+            }
+            // Below U+0300 there are no combining marks, surrogates, ZWJ, variation selectors or
+            // regional indicators, so the only multi-char cluster left is a CR LF pair
+            if (c >= FIRST_COMBINING_MARK || (c == '\n' && previous == '\r')) {
+                simple = false;
+            }
+            previous = c;
+        }
+
+        if (kept == null) {
+            return new SanitizedText(input, 0, simple);
+        }
+        input.getChars(runStart, length, kept, keptLength);
+        keptLength += length - runStart;
+        return new SanitizedText(new String(kept, 0, keptLength), length - keptLength, simple);
+    }
+
+    /**
+     * The grapheme pre-scan on its own, for text that is already sanitized.
+     */
+    public static boolean isSimple(CharSequence text) {
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= FIRST_COMBINING_MARK || (c == '\n' && previous == '\r')) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+
+    /**
+     * True for the C0 controls other than tab, newline and carriage return, and for DEL.
+     */
+    public static boolean isStripped(char c) {
+        return (c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == 0x7F;
+    }
+}
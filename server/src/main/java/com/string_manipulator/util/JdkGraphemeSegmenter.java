@@ -0,0 +1,39 @@
+package com.string_manipulator.util;
+
+import java.text.BreakIterator;
+import java.text.StringCharacterIterator;
+
+/**
+ * {@link GraphemeSegmenter} backed by {@link BreakIterator#getCharacterInstance()}.
+ * BreakIterator is not thread-safe, so a fresh one is created per call.
+ */
+public final class JdkGraphemeSegmenter implements GraphemeSegmenter {
+
+    public static final JdkGraphemeSegmenter INSTANCE = new JdkGraphemeSegmenter();
+
+    private JdkGraphemeSegmenter() {
+    }
+
+    @Override
+    public int segment(String text, int from, int to, int[] out, int pos) {
+        BreakIterator iterator = BreakIterator.getCharacterInstance();  // Uses Extended Grapheme Clusters in Java 20+
+        iterator.setText(new StringCharacterIterator(text, from, to, from));
+
+        for (int end = iterator.next(); end != BreakIterator.DONE; end = iterator.next()) {
+            out[pos++] = end;
+        }
+        return pos;
+    }
+
+    @Override
+    public int count(String text) {
+        BreakIterator iterator = BreakIterator.getCharacterInstance();
+        iterator.setText(text);
+
+        int count = 0;
+        while (iterator.next() != BreakIterator.DONE) {
+            count++;
+        }
+        return count;
+    }
+}
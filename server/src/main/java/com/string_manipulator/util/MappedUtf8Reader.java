@@ -0,0 +1,75 @@
+package com.string_manipulator.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Reader} over a UTF-8 file that memory-maps it one window at a time and decodes
+ * straight out of the mapping, so the file contents never pass through a heap byte array.
+ * A multi-byte sequence cut by a window edge is picked up again by the next window.
+ * Malformed UTF-8 fails with an {@link IllegalArgumentException}.
+ */
+public final class MappedUtf8Reader extends Reader {
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean finished;
+
+    public MappedUtf8Reader(FileChannel channel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (finished) {
+            return -1;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (true) {
+            boolean lastWindow = windowStart + window.limit() == size;
+            CoderResult result = decoder.decode(window, out, lastWindow);
+            if (result.isError()) {
+                throw new IllegalArgumentException("Input is not valid UTF-8 near byte "
+                        + (windowStart + window.position()));
+            }
+            int produced = out.position() - off;
+            if (produced > 0) {
+                return produced;
+            }
+            if (lastWindow) {
+                decoder.flush(out);
+                finished = true;
+                return out.position() > off ? out.position() - off : -1;
+            }
+            // window drained, possibly leaving the first bytes of a sequence: remap from there
+            map(windowStart + window.position());
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+
+    @Override
+    public void close() {
+        // the channel belongs to the caller
+    }
+}
@@ -0,0 +1,83 @@
+package com.string_manipulator.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * An immutable int or double array kept in a direct (off-heap) buffer in native byte order,
+ * so copying it back out is a bulk memory copy rather than a per-element loop. Operations that
+ * only read the values use a read-only view instead and copy nothing.
+ * The native memory is released when the instance is garbage collected.
+ */
+public final class OffHeapArray {
+
+    private final ByteBuffer buffer;
+    private final boolean integral;
+    private final int length;
+
+    private OffHeapArray(ByteBuffer buffer, boolean integral, int length) {
+        this.buffer = buffer;
+        this.integral = integral;
+        this.length = length;
+    }
+
+    public static OffHeapArray of(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(values.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        buffer.asIntBuffer().put(values);
+        return new OffHeapArray(buffer, true, values.length);
+    }
+
+    public static OffHeapArray of(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(values.length * Double.BYTES).order(ByteOrder.nativeOrder());
+        buffer.asDoubleBuffer().put(values);
+        return new OffHeapArray(buffer, false, values.length);
+    }
+
+    public boolean isInt() {
+        return integral;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    // Read-only views over the stored values, indexed from 0; each call gets its own position and limit
+    public IntBuffer intView() {
+        if (!integral) {
+            throw new IllegalStateException("Array holds doubles, not ints");
+        }
+        return buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    public DoubleBuffer doubleView() {
+        if (integral) {
+            throw new IllegalStateException("Array holds ints, not doubles");
+        }
+        return buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    // A fresh heap copy on every call; the stored values never change
+    public int[] toIntArray() {
+        if (!integral) {
+            throw new IllegalStateException("Array holds doubles, not ints");
+        }
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(0, values);
+        return values;
+    }
+
+    public double[] toDoubleArray() {
+        if (integral) {
+            throw new IllegalStateException("Array holds ints, not doubles");
+        }
+        double[] values = new double[length];
+        buffer.asDoubleBuffer().get(0, values);
+        return values;
+    }
+}
@@ -0,0 +1,193 @@
+package com.string_manipulator.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.string_manipulator.util.GraphemeBreakProperty.CONTROL;
+import static com.string_manipulator.util.GraphemeBreakProperty.CR;
+import static com.string_manipulator.util.GraphemeBreakProperty.L;
+import static com.string_manipulator.util.GraphemeBreakProperty.LF;
+import static com.string_manipulator.util.GraphemeBreakProperty.LV;
+import static com.string_manipulator.util.GraphemeBreakProperty.LVT;
+import static com.string_manipulator.util.GraphemeBreakProperty.OTHER;
+import static com.string_manipulator.util.GraphemeBreakProperty.T;
+import static com.string_manipulator.util.GraphemeBreakProperty.V;
+import static com.string_manipulator.util.GraphemeBreakProperty.breakProperty;
+
+/**
+ * Fork-join grapheme segmentation and reverse for very large texts.
+ * The text is cut into chunks at provably safe grapheme boundaries, so every chunk can be
+ * segmented on its own and the results line up exactly with a sequential pass.
+ */
+public final class ParallelGraphemes {
+
+    // chunks smaller than this are not worth a task
+    private static final int MIN_CHUNK_LENGTH = 16 * 1024;
+    // how far past the ideal split point we look for a safe boundary
+    private static final int SPLIT_SEARCH_WINDOW = 4 * 1024;
+
+    private ParallelGraphemes() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * True when {@code offset} is a grapheme boundary no matter what surrounds it, for both engines.
+     * <ul>
+     *   <li>CR, LF or Control on either side: GB4/GB5 always break, except CR x LF (GB3).</li>
+     *   <li>Otherwise both neighbours must be Other or Hangul and not joined by GB6-GB8. Then no
+     *       Extend, ZWJ, SpacingMark, Prepend or regional indicator rule can join them, and GB11
+     *       needs a ZWJ on the left.</li>
+     * </ul>
+     */
+    public static boolean isSafeBoundary(CharSequence text, int offset) {
+        if (offset <= 0 || offset >= text.length()) {
+            return offset == 0 || offset == text.length();
+        }
+        char before = text.charAt(offset - 1);
+        char after = text.charAt(offset);
+        if (Character.isHighSurrogate(before) || Character.isLowSurrogate(after)) {
+            return false; // never split a surrogate pair, and keep the neighbours' lookup simple
+        }
+        int beforeCp = Character.isLowSurrogate(before) && offset >= 2
+                && Character.isHighSurrogate(text.charAt(offset - 2))
+                ? Character.toCodePoint(text.charAt(offset - 2), before)
+                : before;
+        int afterCp = Character.isHighSurrogate(after) && offset + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(offset + 1))
+                ? Character.toCodePoint(after, text.charAt(offset + 1))
+                : after;
+        int beforeProperty = breakProperty(GraphemeBreakProperty.of(beforeCp));
+        int afterProperty = breakProperty(GraphemeBreakProperty.of(afterCp));
+
+        if (isHardBreak(beforeProperty) || isHardBreak(afterProperty)) {
+            return beforeProperty != CR || afterProperty != LF;
+        }
+        // BreakIterator treats a few Mc the tables call Other (U+11720, U+11721) as SpacingMark
+        return isPlain(beforeProperty) && isPlain(afterProperty)
+                && !joinsHangul(beforeProperty, afterProperty)
+                && Character.getType(afterCp) != Character.COMBINING_SPACING_MARK;
+    }
+
+    private static boolean isHardBreak(int property) {
+        return property == CR || property == LF || property == CONTROL;
+    }
+
+    private static boolean isPlain(int property) {
+        return property == OTHER || property == L || property == V || property == T
+                || property == LV || property == LVT;
+    }
+
+    // GB6-GB8
+    private static boolean joinsHangul(int before, int after) {
+        return switch (before) {
+            case L -> after == L || after == V || after == LV || after == LVT;
+            case LV, V -> after == V || after == T;
+            case LVT, T -> after == T;
+            default -> false;
+        };
+    }
+
+    /**
+     * Picks chunk edges for the text: always 0 and the text length, plus one safe boundary
+     * near each evenly spaced target. Targets with no safe boundary nearby are dropped,
+     * which just makes the neighbouring chunk larger.
+     *
+     * @return the chunk edges, ascending; chunk {@code i} is {@code [edges[i], edges[i + 1])}
+     */
+    public static int[] splitPoints(CharSequence text, int parallelism) {
+        int length = text.length();
+        int chunks = Math.max(1, Math.min(parallelism * 4, length / MIN_CHUNK_LENGTH));
+        int[] edges = new int[chunks + 1];
+        int count = 1;
+
+        for (int c = 1; c < chunks; c++) {
+            int target = (int) ((long) length * c / chunks);
+            int limit = Math.min(length - 1, target + SPLIT_SEARCH_WINDOW);
+            for (int p = Math.max(target, edges[count - 1] + 1); p <= limit; p++) {
+                if (isSafeBoundary(text, p)) {
+                    edges[count++] = p;
+                    break;
+                }
+            }
+        }
+        edges[count++] = length;
+        return Arrays.copyOf(edges, count);
+    }
+
+    /**
+     * Segments the text chunk by chunk on the pool and returns the combined index.
+     */
+    public static GraphemeIndex index(String text, GraphemeSegmenter segmenter, ForkJoinPool pool) {
+        int[] edges = splitPoints(text, pool.getParallelism());
+        // chunk i writes its boundaries into its own window [edges[i] + 1, ...) of one shared array
+        int[] boundaries = new int[text.length() + 1];
+        int[] ends = new int[edges.length - 1];
+
+        pool.invoke(new ChunkTask(edges, 0, ends.length, (from, to, chunk) ->
+                ends[chunk] = segmenter.segment(text, from, to, boundaries, from + 1)));
+
+        // slide the windows together; they are already in order
+        int count = 0;
+        for (int chunk = 0; chunk < ends.length; chunk++) {
+            int from = edges[chunk] + 1;
+            int size = ends[chunk] - from;
+            System.arraycopy(boundaries, from, boundaries, count + 1, size);
+            count += size;
+        }
+        return new GraphemeIndex(text, boundaries, count);
+    }
+
+    /**
+     * Grapheme-aware reverse: chunks land in reverse order, each reversed internally.
+     */
+    public static String reverse(String text, GraphemeSegmenter segmenter, ForkJoinPool pool) {
+        int length = text.length();
+        int[] edges = splitPoints(text, pool.getParallelism());
+        char[] reversed = new char[length];
+
+        pool.invoke(new ChunkTask(edges, 0, edges.length - 1, (from, to, chunk) -> {
+            int[] boundaries = new int[to - from + 1];
+            boundaries[0] = from;
+            int end = segmenter.segment(text, from, to, boundaries, 1);
+            // chunk [from, to) ends up at [length - to, length - from) of the output
+            int pos = length - to;
+            for (int i = end - 1; i > 0; i--) {
+                text.getChars(boundaries[i - 1], boundaries[i], reversed, pos);
+                pos += boundaries[i] - boundaries[i - 1];
+            }
+        }));
+        return new String(reversed);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWork {
+        void run(int from, int to, int chunk);
+    }
+
+    // splits the chunk range in halves until one chunk is left, then runs the work on it
+    private static final class ChunkTask extends RecursiveAction {
+        private final int[] edges;
+        private final int firstChunk;
+        private final int endChunk;
+        private final ChunkWork work;
+
+        ChunkTask(int[] edges, int firstChunk, int endChunk, ChunkWork work) {
+            this.edges = edges;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk == 1) {
+                work.run(edges[firstChunk], edges[endChunk], firstChunk);
+                return;
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            invokeAll(new ChunkTask(edges, firstChunk, middle, work),
+                    new ChunkTask(edges, middle, endChunk, work));
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.string_manipulator.util;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Splits an array into N buckets, written back to back into one array with an offsets table, so
+ * bucket {@code b} is {@code values[offsets[b]..offsets[b + 1])}. Partitioning is stable: each
+ * bucket keeps the input order. It runs in three steps:
+ * <ol>
+ *     <li>A counting pass records each element's bucket id and a histogram.</li>
+ *     <li>Prefix sums over the histogram give each bucket its offset.</li>
+ *     <li>A scatter pass moves every element straight to its final slot.</li>
+ * </ol>
+ * The parallel variant cuts the array into fixed-size chunks, and each chunk gets its own
+ * histogram. The prefix sums then run over (bucket, chunk), so every chunk scatters into a
+ * disjoint set of slots without synchronization, and the output matches the sequential one.
+ * Parity and sign (what {@code /separate} does) are the two-bucket rules. {@code split} applies a
+ * two-bucket rule to a slice of the caller's array instead, for callers that must not allocate a
+ * second array of the full length. {@code buckets} reads a buffer in place (an off-heap dataset) and
+ * writes each bucket straight into its own exact-size array.
+ */
+public final class PartitionEngine {
+
+    public static final int MAX_BUCKETS = 1024;
+    // elements per chunk (and per histogram) when running in parallel
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    public enum Kind { MODULO, RANGES, PARITY, SIGN }
+
+    /**
+     * How values map to buckets:
+     * <ul>
+     *     <li>modulo k: {@code floorMod(value, k)}; doubles use the floor of the value.</li>
+     *     <li>ranges: the number of boundaries that are {@code <= value}, so n ascending
+     *     boundaries make n + 1 buckets.</li>
+     *     <li>parity: even, then odd; a value with a fractional part is odd.</li>
+     *     <li>sign: positive (zero included), then negative; -0.0 is negative.</li>
+     * </ul>
+     */
+    public record Rule(Kind kind, int modulus, double[] boundaries) {
+
+        public static Rule modulo(int modulus) {
+            if (modulus < 1 || modulus > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Modulus must be between 1 and " + MAX_BUCKETS);
+            }
+            return new Rule(Kind.MODULO, modulus, null);
+        }
+
+        public static Rule ranges(double[] boundaries) {
+            if (boundaries.length + 1 > MAX_BUCKETS) {
+                throw new IllegalArgumentException("At most " + (MAX_BUCKETS - 1) + " boundaries are allowed");
+            }
+            for (int i = 1; i < boundaries.length; i++) {
+                if (boundaries[i] < boundaries[i - 1]) {
+                    throw new IllegalArgumentException("Boundaries must be in ascending order");
+                }
+            }
+            return new Rule(Kind.RANGES, 0, boundaries.clone());
+        }
+
+        public static Rule parity() {
+            return new Rule(Kind.PARITY, 0, null);
+        }
+
+        public static Rule sign() {
+            return new Rule(Kind.SIGN, 0, null);
+        }
+
+        public int buckets() {
+            return switch (kind) {
+                case MODULO -> modulus;
+                case RANGES -> boundaries.length + 1;
+                case PARITY, SIGN -> 2;
+            };
+        }
+    }
+
+    public record IntPartition(int[] values, int[] offsets) {
+
+        public int[] bucket(int b) {
+            return Arrays.copyOfRange(values, offsets[b], offsets[b + 1]);
+        }
+    }
+
+    public record DoublePartition(double[] values, int[] offsets) {
+
+        public double[] bucket(int b) {
+            return Arrays.copyOfRange(values, offsets[b], offsets[b + 1]);
+        }
+    }
+
+    private PartitionEngine() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    public static IntPartition partition(int[] array, Rule rule) {
+        return partition(array, rule, null);
+    }
+
+    public static IntPartition partition(int[] array, Rule rule, ForkJoinPool pool) {
+        int n = array.length;
+        int chunks = chunkCount(n, pool);
+        short[] ids = new short[n];
+        int[][] cursors = new int[chunks][rule.buckets()];
+        forEachChunk(pool, chunks, c -> classify(array, chunkStart(c, chunks, n), chunkStart(c + 1, chunks, n),
+                rule, ids, cursors[c]));
+        int[] offsets = toCursors(cursors, rule.buckets(), n);
+        int[] values = new int[n];
+        forEachChunk(pool, chunks, c -> {
+            int[] cursor = cursors[c];
+            for (int i = chunkStart(c, chunks, n), end = chunkStart(c + 1, chunks, n); i < end; i++) {
+                values[cursor[ids[i]]++] = array[i];
+            }
+        });
+        return new IntPartition(values, offsets);
+    }
+
+    public static DoublePartition partition(double[] array, Rule rule) {
+        return partition(array, rule, null);
+    }
+
+    public static DoublePartition partition(double[] array, Rule rule, ForkJoinPool pool) {
+        int n = array.length;
+        int chunks = chunkCount(n, pool);
+        short[] ids = new short[n];
+        int[][] cursors = new int[chunks][rule.buckets()];
+        forEachChunk(pool, chunks, c -> classify(array, chunkStart(c, chunks, n), chunkStart(c + 1, chunks, n),
+                rule, ids, cursors[c]));
+        int[] offsets = toCursors(cursors, rule.buckets(), n);
+        double[] values = new double[n];
+        forEachChunk(pool, chunks, c -> {
+            int[] cursor = cursors[c];
+            for (int i = chunkStart(c, chunks, n), end = chunkStart(c + 1, chunks, n); i < end; i++) {
+                values[cursor[ids[i]]++] = array[i];
+            }
+        });
+        return new DoublePartition(values, offsets);
+    }
+
+    /**
+     * Stable partition of a whole buffer (indexed from 0 to its limit) into one array per bucket.
+     * One pass counts, a second one copies, so the buffer is read twice and never copied whole.
+     */
+    public static int[][] buckets(IntBuffer values, Rule rule) {
+        int n = values.limit();
+        int[] counts = new int[rule.buckets()];
+        for (int i = 0; i < n; i++) {
+            counts[bucket(rule, values.get(i))]++;
+        }
+        int[][] buckets = new int[counts.length][];
+        for (int b = 0; b < counts.length; b++) {
+            buckets[b] = new int[counts[b]];
+        }
+        int[] cursors = new int[counts.length];
+        for (int i = 0; i < n; i++) {
+            int value = values.get(i);
+            int b = bucket(rule, value);
+            buckets[b][cursors[b]++] = value;
+        }
+        return buckets;
+    }
+
+    public static double[][] buckets(DoubleBuffer values, Rule rule) {
+        int n = values.limit();
+        int[] counts = new int[rule.buckets()];
+        for (int i = 0; i < n; i++) {
+            counts[bucket(rule, values.get(i))]++;
+        }
+        double[][] buckets = new double[counts.length][];
+        for (int b = 0; b < counts.length; b++) {
+            buckets[b] = new double[counts[b]];
+        }
+        int[] cursors = new int[counts.length];
+        for (int i = 0; i < n; i++) {
+            double value = values.get(i);
+            int b = bucket(rule, value);
+            buckets[b][cursors[b]++] = value;
+        }
+        return buckets;
+    }
+
+    /**
+     * Stable two-bucket split of {@code [from, to)}: bucket 0 moves to the front of the slice and
+     * bucket 1 follows, both in input order. Returns where bucket 1 starts. Bucket 0 is compacted
+     * in place and bucket 1 is parked in {@code scratch}, which must hold {@code to - from}
+     * elements, so one scratch array can serve every slice of a buffer.
+     */
+    public static int split(int[] array, int from, int to, Rule rule, int[] scratch) {
+        requireTwoBuckets(rule);
+        int boundary = from;
+        int parked = 0;
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            if (bucket(rule, value) == 0) {
+                array[boundary++] = value;
+            } else {
+                scratch[parked++] = value;
+            }
+        }
+        System.arraycopy(scratch, 0, array, boundary, parked);
+        return boundary;
+    }
+
+    public static int split(double[] array, int from, int to, Rule rule, double[] scratch) {
+        requireTwoBuckets(rule);
+        int boundary = from;
+        int parked = 0;
+        for (int i = from; i < to; i++) {
+            double value = array[i];
+            if (bucket(rule, value) == 0) {
+                array[boundary++] = value;
+            } else {
+                scratch[parked++] = value;
+            }
+        }
+        System.arraycopy(scratch, 0, array, boundary, parked);
+        return boundary;
+    }
+
+    /**
+     * Boundaries that cut the array into {@code buckets} groups of (nearly) equal size: the values
+     * at ranks {@code i * n / buckets}, found with one multi-rank selection on a copy. Equal values
+     * stay in one bucket, so heavy duplicates can leave some buckets empty.
+     */
+    public static double[] quantileBoundaries(int[] array, int buckets) {
+        int[] ranks = quantileRanks(array.length, buckets);
+        int[] work = Arrays.copyOf(array, array.length);
+        SelectEngine.selectRanks(work, ranks);
+        double[] boundaries = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            boundaries[i] = work[ranks[i]];
+        }
+        return boundaries;
+    }
+
+    public static double[] quantileBoundaries(double[] array, int buckets) {
+        int[] ranks = quantileRanks(array.length, buckets);
+        double[] work = Arrays.copyOf(array, array.length);
+        SelectEngine.selectRanks(work, ranks);
+        double[] boundaries = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            boundaries[i] = work[ranks[i]];
+        }
+        return boundaries;
+    }
+
+    /**************************************************************************/
+
+    // Counting pass: one loop per rule kind, so the bucket computation is inlined and branch-free where possible
+    private static void classify(int[] array, int from, int to, Rule rule, short[] ids, int[] histogram) {
+        switch (rule.kind()) {
+            case PARITY -> {
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) (array[i] & 1);
+                }
+            }
+            case SIGN -> {
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) (array[i] >>> 31);
+                }
+            }
+            case MODULO -> {
+                int modulus = rule.modulus();
+                if (Integer.bitCount(modulus) == 1) {
+                    // floorMod by a power of two is a mask, negatives included
+                    int mask = modulus - 1;
+                    for (int i = from; i < to; i++) {
+                        ids[i] = (short) (array[i] & mask);
+                    }
+                } else {
+                    for (int i = from; i < to; i++) {
+                        ids[i] = (short) Math.floorMod(array[i], modulus);
+                    }
+                }
+            }
+            case RANGES -> {
+                double[] boundaries = rule.boundaries();
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) rangeBucket(boundaries, array[i]);
+                }
+            }
+        }
+        for (int i = from; i < to; i++) {
+            histogram[ids[i]]++;
+        }
+    }
+
+    private static void classify(double[] array, int from, int to, Rule rule, short[] ids, int[] histogram) {
+        switch (rule.kind()) {
+            case PARITY -> {
+                for (int i = from; i < to; i++) {
+                    double value = array[i];
+                    // same answer as value % 2 != 0 for finite values, without the slow remainder
+                    ids[i] = (short) (Math.floor(value * 0.5) * 2 == value ? 0 : 1);
+                }
+            }
+            case SIGN -> {
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) (Double.doubleToRawLongBits(array[i]) >>> 63);
+                }
+            }
+            case MODULO -> {
+                int modulus = rule.modulus();
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) floorMod(array[i], modulus);
+                }
+            }
+            case RANGES -> {
+                double[] boundaries = rule.boundaries();
+                for (int i = from; i < to; i++) {
+                    ids[i] = (short) rangeBucket(boundaries, array[i]);
+                }
+            }
+        }
+        for (int i = from; i < to; i++) {
+            histogram[ids[i]]++;
+        }
+    }
+
+    // Prefix sums in (bucket, chunk) order: each histogram becomes the chunk's write cursor per bucket
+    private static int[] toCursors(int[][] histograms, int buckets, int length) {
+        int[] offsets = new int[buckets + 1];
+        int position = 0;
+        for (int b = 0; b < buckets; b++) {
+            offsets[b] = position;
+            for (int[] histogram : histograms) {
+                int count = histogram[b];
+                histogram[b] = position;
+                position += count;
+            }
+        }
+        offsets[buckets] = length;
+        return offsets;
+    }
+
+    // Per-element form of the classify loops, for split and buckets
+    private static int bucket(Rule rule, int value) {
+        return switch (rule.kind()) {
+            case PARITY -> value & 1;
+            case SIGN -> value >>> 31;
+            case MODULO -> Math.floorMod(value, rule.modulus());
+            case RANGES -> rangeBucket(rule.boundaries(), value);
+        };
+    }
+
+    private static int bucket(Rule rule, double value) {
+        return switch (rule.kind()) {
+            case PARITY -> Math.floor(value * 0.5) * 2 == value ? 0 : 1;
+            case SIGN -> (int) (Double.doubleToRawLongBits(value) >>> 63);
+            case MODULO -> floorMod(value, rule.modulus());
+            case RANGES -> rangeBucket(rule.boundaries(), value);
+        };
+    }
+
+    // The double remainder is exact (unlike floor - modulus * floor(floor / modulus), which rounds past
+    // 2^53), so one correction puts it in [0, modulus); NaN and infinities land in bucket 0
+    private static int floorMod(double value, int modulus) {
+        double remainder = Math.floor(value) % modulus;
+        if (remainder < 0) {
+            remainder += modulus;
+        }
+        return (int) remainder;
+    }
+
+    private static void requireTwoBuckets(Rule rule) {
+        if (rule.buckets() != 2) {
+            throw new IllegalArgumentException("An in-place split needs a two-bucket rule");
+        }
+    }
+
+    // number of boundaries <= value
+    private static int rangeBucket(double[] boundaries, double value) {
+        int low = 0;
+        int high = boundaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaries[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] quantileRanks(int length, int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and " + MAX_BUCKETS);
+        }
+        int[] ranks = new int[buckets - 1];
+        for (int i = 1; i < buckets; i++) {
+            ranks[i - 1] = (int) ((long) i * length / buckets);
+        }
+        return ranks;
+    }
+
+    /**************************************************************************/
+
+    private static int chunkCount(int length, ForkJoinPool pool) {
+        return pool == null ? 1 : Math.max(1, (length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    private static int chunkStart(int chunk, int chunks, int length) {
+        return chunks == 1 ? (chunk == 0 ? 0 : length) : Math.min(length, chunk * CHUNK_SIZE);
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int chunks, IntConsumer action) {
+        if (pool == null || chunks == 1) {
+            for (int c = 0; c < chunks; c++) {
+                action.accept(c);
+            }
+        } else {
+            pool.invoke(new ChunkTask(action, 0, chunks));
+        }
+    }
+
+    // Splits the chunk range in halves until one chunk is left
+    private static final class ChunkTask extends RecursiveAction {
+        private final IntConsumer action;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(IntConsumer action, int firstChunk, int endChunk) {
+            this.action = action;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk == 1) {
+                action.accept(firstChunk);
+                return;
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            invokeAll(new ChunkTask(action, firstChunk, middle), new ChunkTask(action, middle, endChunk));
+        }
+    }
+}
@@ -1,9 +1,5 @@
 package com.string_manipulator.util;
 
-import java.util.List;
-
-import static com.string_manipulator.util.GraphemeCluster.splitIntoGraphemes;
-
 /* @author Joe Nguyen */
 
 public class ReverseString {
@@ -13,11 +9,30 @@ public class ReverseString {
     }
 
     public static String reverse(String text) {
-        List<String> graphemes = splitIntoGraphemes(text);
-        StringBuilder reversed = new StringBuilder(text.length());
-        for (int i = graphemes.size() - 1; i >= 0; i--) {
-            reversed.append(graphemes.get(i));
+        return reverse(text, JdkGraphemeSegmenter.INSTANCE);
+    }
+
+    public static String reverse(String text, GraphemeSegmenter segmenter) {
+        GraphemeIndex index = segmenter.index(text);
+        char[] reversed = new char[text.length()];
+        int pos = 0;
+        for (int i = index.count() - 1; i >= 0; i--) {
+            pos = index.copyRange(i, i + 1, reversed, pos);
+        }
+        return new String(reversed);
+    }
+
+    /**
+     * Plain char reverse for text where every char is its own grapheme cluster
+     * (see {@code StringService#isSimpleText}); skips grapheme segmentation entirely.
+     */
+    public static String reverseChars(String text) {
+        char[] reversed = text.toCharArray();
+        for (int i = 0, j = reversed.length - 1; i < j; i++, j--) {
+            char temp = reversed[i];
+            reversed[i] = reversed[j];
+            reversed[j] = temp;
         }
-        return reversed.toString();
+        return new String(reversed);
     }
-}
\ No newline at end of file
+}
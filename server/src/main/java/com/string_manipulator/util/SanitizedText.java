@@ -0,0 +1,15 @@
+package com.string_manipulator.util;
+
+/**
+ * Result of {@link InputSanitizer#sanitize(String)}.
+ *
+ * @param text          the input without control characters; the same instance when nothing was stripped
+ * @param strippedCount how many control characters were removed
+ * @param simple        true when every char of {@code text} is its own grapheme cluster
+ */
+public record SanitizedText(String text, int strippedCount, boolean simple) {
+
+    public boolean modified() {
+        return strippedCount > 0;
+    }
+}
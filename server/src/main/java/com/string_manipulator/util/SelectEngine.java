@@ -0,0 +1,397 @@
+package com.string_manipulator.util;
+
+import java.util.Arrays;
+
+/**
+ * Order statistics without a full sort.
+ * <ul>
+ *     <li>{@code largest}/{@code smallest}: the k extreme values, kept in a bounded primitive heap
+ *     in one pass (O(n log k)). When k is a large share of the array, it selects the boundary
+ *     rank instead and sorts only that slice.</li>
+ *     <li>{@code selectRanks}: a multi-rank introselect. One recursive three-way partitioning pass
+ *     puts every requested rank in its sorted position, descending only into sides that still hold
+ *     a requested rank. Past a depth limit it falls back to sorting the remaining range.</li>
+ * </ul>
+ * The input array is only modified by {@code selectRanks}; callers pass it a copy.
+ * Doubles are ordered like {@link Double#compare}, so -0.0 comes before 0.0.
+ */
+public final class SelectEngine {
+
+    private static final int INSERTION_MAX = 16;
+    // above k = n / HEAP_FRACTION, select-then-sort beats the heap
+    private static final int HEAP_FRACTION = 16;
+
+    private SelectEngine() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    // The k largest values, largest first; k is capped at the array length
+    public static int[] largest(int[] array, int k) {
+        return extremes(array, k, false);
+    }
+
+    // The k smallest values, smallest first
+    public static int[] smallest(int[] array, int k) {
+        return extremes(array, k, true);
+    }
+
+    public static double[] largest(double[] array, int k) {
+        return extremes(array, k, false);
+    }
+
+    public static double[] smallest(double[] array, int k) {
+        return extremes(array, k, true);
+    }
+
+    /**
+     * Reorders {@code array} so each of {@code ranks} (0-based, any order, duplicates allowed)
+     * holds the value a full ascending sort would put there.
+     */
+    public static void selectRanks(int[] array, int[] ranks) {
+        int[] sorted = sortedRanks(ranks, array.length);
+        multiselect(array, 0, array.length, sorted, 0, sorted.length, depthLimit(array.length));
+    }
+
+    public static void selectRanks(double[] array, int[] ranks) {
+        int[] sorted = sortedRanks(ranks, array.length);
+        multiselect(array, 0, array.length, sorted, 0, sorted.length, depthLimit(array.length));
+    }
+
+    /**************************************************************************/
+
+    // Heap keys are the values for largest and their complement for smallest, so one min-heap serves both
+    private static int[] extremes(int[] array, int k, boolean smallest) {
+        int n = array.length;
+        k = Math.min(k, n);
+        if (k == 0) {
+            return new int[0];
+        }
+        if (k > n / HEAP_FRACTION) {
+            return extremesBySelect(array, k, smallest);
+        }
+        int[] heap = new int[k];
+        int size = 0;
+        for (int value : array) {
+            int key = smallest ? ~value : value;
+            if (size < k) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, k);
+            }
+        }
+        // popping the minimum fills the result from the back
+        int[] result = new int[k];
+        while (size > 0) {
+            int key = heap[0];
+            result[--size] = smallest ? ~key : key;
+            heap[0] = heap[size];
+            siftDown(heap, size);
+        }
+        return result;
+    }
+
+    // Heap keys are the bits of each double made signed-comparable (see orderedBits), complemented for smallest
+    private static double[] extremes(double[] array, int k, boolean smallest) {
+        int n = array.length;
+        k = Math.min(k, n);
+        if (k == 0) {
+            return new double[0];
+        }
+        if (k > n / HEAP_FRACTION) {
+            return extremesBySelect(array, k, smallest);
+        }
+        long[] heap = new long[k];
+        int size = 0;
+        for (double value : array) {
+            long key = smallest ? ~orderedBits(value) : orderedBits(value);
+            if (size < k) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, k);
+            }
+        }
+        double[] result = new double[k];
+        while (size > 0) {
+            long key = heap[0];
+            result[--size] = fromOrderedBits(smallest ? ~key : key);
+            heap[0] = heap[size];
+            siftDown(heap, size);
+        }
+        return result;
+    }
+
+    private static int[] extremesBySelect(int[] array, int k, boolean smallest) {
+        int n = array.length;
+        int[] work = Arrays.copyOf(array, n);
+        selectRanks(work, new int[]{smallest ? k - 1 : n - k});
+        int[] result = smallest ? Arrays.copyOfRange(work, 0, k) : Arrays.copyOfRange(work, n - k, n);
+        Arrays.sort(result);
+        if (!smallest) {
+            reverse(result);
+        }
+        return result;
+    }
+
+    private static double[] extremesBySelect(double[] array, int k, boolean smallest) {
+        int n = array.length;
+        double[] work = Arrays.copyOf(array, n);
+        selectRanks(work, new int[]{smallest ? k - 1 : n - k});
+        double[] result = smallest ? Arrays.copyOfRange(work, 0, k) : Arrays.copyOfRange(work, n - k, n);
+        Arrays.sort(result);
+        if (!smallest) {
+            reverse(result);
+        }
+        return result;
+    }
+
+    /**************************************************************************/
+
+    // Partitions [lo, hi) around a median-of-three pivot into < | == | >, then works on each side
+    // that still holds a requested rank: the left side by recursion, the right side by looping
+    private static void multiselect(int[] a, int lo, int hi, int[] ranks, int rlo, int rhi, int depth) {
+        while (rlo < rhi) {
+            if (hi - lo <= INSERTION_MAX) {
+                insertionSort(a, lo, hi);
+                return;
+            }
+            if (depth-- == 0) {
+                Arrays.sort(a, lo, hi);
+                return;
+            }
+            int pivot = medianOfThree(a[lo], a[(lo + hi) >>> 1], a[hi - 1]);
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int value = a[i];
+                if (value < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = value;
+                } else if (value > pivot) {
+                    a[i] = a[--gt];
+                    a[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+            int leftEnd = lowerBound(ranks, rlo, rhi, lt);
+            int rightStart = lowerBound(ranks, leftEnd, rhi, gt);
+            multiselect(a, lo, lt, ranks, rlo, leftEnd, depth);
+            lo = gt;
+            rlo = rightStart;
+        }
+    }
+
+    private static void multiselect(double[] a, int lo, int hi, int[] ranks, int rlo, int rhi, int depth) {
+        while (rlo < rhi) {
+            if (hi - lo <= INSERTION_MAX) {
+                insertionSort(a, lo, hi);
+                return;
+            }
+            if (depth-- == 0) {
+                Arrays.sort(a, lo, hi);
+                return;
+            }
+            double pivot = medianOfThree(a[lo], a[(lo + hi) >>> 1], a[hi - 1]);
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                double value = a[i];
+                if (value < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = value;
+                } else if (value > pivot) {
+                    a[i] = a[--gt];
+                    a[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+            int leftEnd = lowerBound(ranks, rlo, rhi, lt);
+            int rightStart = lowerBound(ranks, leftEnd, rhi, gt);
+            // -0.0 and 0.0 compare equal above, so a band of zeros holding a rank still needs its order
+            if (pivot == 0 && leftEnd < rightStart) {
+                orderZeros(a, lt, gt);
+            }
+            multiselect(a, lo, lt, ranks, rlo, leftEnd, depth);
+            lo = gt;
+            rlo = rightStart;
+        }
+    }
+
+    /**************************************************************************/
+
+    private static void siftUp(int[] heap, int index) {
+        int key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private static void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int key = heap[0];
+        int index = 0;
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        long key = heap[0];
+        int index = 0;
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+
+    /**************************************************************************/
+
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int value = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > value) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    private static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double value = a[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(a[j], value) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return a < b
+                ? (b < c ? b : Math.max(a, c))
+                : (a < c ? a : Math.max(b, c));
+    }
+
+    // [from, to) holds only zeros: negative zeros first
+    private static void orderZeros(double[] a, int from, int to) {
+        int negative = 0;
+        for (int i = from; i < to; i++) {
+            if (Double.doubleToRawLongBits(a[i]) < 0) {
+                negative++;
+            }
+        }
+        Arrays.fill(a, from, from + negative, -0.0);
+        Arrays.fill(a, from + negative, to, 0.0);
+    }
+
+    // Flipping the 63 low bits of negatives makes signed long order match Double.compare;
+    // the sign bit is kept, so the same flip maps a key back
+    private static long orderedBits(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double fromOrderedBits(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    // first index in ranks[from, to) whose rank is >= position
+    private static int lowerBound(int[] ranks, int from, int to, int position) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (ranks[mid] < position) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static int[] sortedRanks(int[] ranks, int length) {
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0 && (sorted[0] < 0 || sorted[sorted.length - 1] >= length)) {
+            throw new IllegalArgumentException("Rank must be between 0 and " + (length - 1));
+        }
+        return sorted;
+    }
+
+    private static int depthLimit(int length) {
+        return 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(length));
+    }
+
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+
+    private static void reverse(double[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            double swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+}
@@ -2,40 +2,75 @@ package com.string_manipulator.util;
 
 /* @author Joe Nguyen */
 
-import java.util.List;
-
-import static com.string_manipulator.util.GraphemeCluster.splitIntoGraphemes;
-
 
 public class ShiftedString {
     public static String shifting(String response, int numOfShifts, String choice) {
+        return shifting(response, numOfShifts, choice, JdkGraphemeSegmenter.INSTANCE);
+    }
+
+    public static String shifting(String response, int numOfShifts, String choice, GraphemeSegmenter segmenter) {
+        return shifting(segmenter.index(response), numOfShifts, choice);
+    }
+
+    public static String shifting(GraphemeIndex graphemes, int numOfShifts, String choice) {
 
-        List<String> graphemes = splitIntoGraphemes(response);
-        StringBuilder shifted = new StringBuilder(response.length());
-        int length = graphemes.size();
+        int count = graphemes.count();
 
         //for when shift is 0
-        if (numOfShifts == 0) {
-            return response;
+        if (numOfShifts == 0 || count == 0) {
+            return graphemes.text();
         }
 
-        // Normalize numOfShifts
-        numOfShifts = numOfShifts % length;
-
+        numOfShifts = numOfShifts % count;
 
+        // the cluster that ends up first
+        int split;
         if ("left".equals(choice)) {
             // Left shift: move first elements to end
-            for (int i = 0; i < length; i++) {
-                shifted.append(graphemes.get((i + numOfShifts) % length));
-            }
+            split = numOfShifts;
         } else if ("right".equals(choice)) {
             // Right shift: move last elements to beginning
-            for (int i = 0; i < length; i++) {
-                shifted.append(graphemes.get((i - numOfShifts + length) % length));
-            }
+            split = (count - numOfShifts) % count;
+        } else {
+            return "";
+        }
+        if (split == 0) {
+            return graphemes.text();
+        }
+
+        // both runs are copied straight from the text into the result
+        char[] shifted = new char[graphemes.text().length()];
+        int pos = graphemes.copyRange(split, count, shifted, 0);
+        graphemes.copyRange(0, split, shifted, pos);
+        return new String(shifted);
+
+    }
+
+    /**
+     * Same rotation as {@link #shifting} for text where every char is its own grapheme cluster,
+     * so the split point is a char offset and no segmentation is needed.
+     */
+    public static String shiftingChars(String response, int numOfShifts, String choice) {
+        int length = response.length();
+
+        if (numOfShifts == 0) {
+            return response;
         }
 
-        return shifted.toString();
+        numOfShifts = numOfShifts % length;
+
+        int split;
+        if ("left".equals(choice)) {
+            split = numOfShifts;
+        } else if ("right".equals(choice)) {
+            split = (length - numOfShifts) % length;
+        } else {
+            return "";
+        }
 
+        char[] shifted = new char[length];
+        response.getChars(split, length, shifted, 0);
+        response.getChars(0, split, shifted, length - split);
+        return new String(shifted);
     }
 }
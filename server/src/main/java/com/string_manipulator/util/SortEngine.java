@@ -0,0 +1,216 @@
+package com.string_manipulator.util;
+
+import java.util.Arrays;
+
+/**
+ * Picks a sort algorithm from the array's size, element type and value range, and produces
+ * descending order directly instead of sorting ascending and reversing.
+ * <ul>
+ *     <li>Tiny arrays: insertion sort in the requested order.</li>
+ *     <li>Huge arrays sorted ascending: {@link Arrays#parallelSort}.</li>
+ *     <li>Other int arrays: LSD radix sort on {@code value - min}, one 8-bit pass per byte the
+ *     value range actually needs, with bucket order flipped for descending.</li>
+ *     <li>Other double arrays: {@link Arrays#sort} ascending, LSD radix on order-preserving
+ *     bit keys descending, skipping every byte that is the same in all keys.</li>
+ * </ul>
+ * With {@code inPlace} the caller's array is sorted and returned; otherwise it is left untouched.
+ * {@code sortRange} sorts one slice of an array in place, with the same choice made from the slice length.
+ * Doubles are ordered like {@link Double#compare}, so -0.0 comes before 0.0.
+ */
+public final class SortEngine {
+
+    public enum Algorithm { INSERTION, RADIX, DUAL_PIVOT_QUICKSORT, PARALLEL }
+
+    // insertion sort beats everything else below this size
+    private static final int INSERTION_MAX = 32;
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int BUCKET_MASK = BUCKETS - 1;
+
+    private SortEngine() {
+        /* This utility class should not be instantiated */
+    }
+
+    public static Algorithm choose(int length, boolean integral, boolean descending, int parallelThreshold) {
+        if (length <= INSERTION_MAX) {
+            return Algorithm.INSERTION;
+        }
+        if (!descending && length >= parallelThreshold) {
+            return Algorithm.PARALLEL;
+        }
+        // nothing beats the JDK's dual-pivot quicksort for mid-size doubles in ascending order
+        return integral || descending ? Algorithm.RADIX : Algorithm.DUAL_PIVOT_QUICKSORT;
+    }
+
+    /**************************************************************************/
+
+    public static int[] sort(int[] array, boolean descending, boolean inPlace, int parallelThreshold) {
+        int[] target = inPlace ? array : Arrays.copyOf(array, array.length);
+        sortRange(target, 0, target.length, descending, parallelThreshold);
+        return target;
+    }
+
+    public static double[] sort(double[] array, boolean descending, boolean inPlace, int parallelThreshold) {
+        double[] target = inPlace ? array : Arrays.copyOf(array, array.length);
+        sortRange(target, 0, target.length, descending, parallelThreshold);
+        return target;
+    }
+
+    public static void sortRange(int[] array, int from, int to, boolean descending, int parallelThreshold) {
+        switch (choose(to - from, true, descending, parallelThreshold)) {
+            case INSERTION -> insertionSort(array, from, to, descending);
+            case PARALLEL -> Arrays.parallelSort(array, from, to);
+            default -> radixSort(array, from, to, descending);
+        }
+    }
+
+    public static void sortRange(double[] array, int from, int to, boolean descending, int parallelThreshold) {
+        switch (choose(to - from, false, descending, parallelThreshold)) {
+            case INSERTION -> insertionSort(array, from, to, descending);
+            case PARALLEL -> Arrays.parallelSort(array, from, to);
+            case DUAL_PIVOT_QUICKSORT -> Arrays.sort(array, from, to);
+            default -> radixSort(array, from, to, descending);
+        }
+    }
+
+    /**************************************************************************/
+
+    private static void insertionSort(int[] array, int from, int to, boolean descending) {
+        for (int i = from + 1; i < to; i++) {
+            int value = array[i];
+            int j = i - 1;
+            while (j >= from && (descending ? array[j] < value : array[j] > value)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    private static void insertionSort(double[] array, int from, int to, boolean descending) {
+        for (int i = from + 1; i < to; i++) {
+            double value = array[i];
+            long key = sortableKey(value);
+            int j = i - 1;
+            while (j >= from && (descending
+                    ? Long.compareUnsigned(sortableKey(array[j]), key) < 0
+                    : Long.compareUnsigned(sortableKey(array[j]), key) > 0)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**************************************************************************/
+
+    // Keys are value - min as an unsigned int, so only the bytes the range spans get a pass.
+    // Passes alternate between the slice and a buffer of the slice's length.
+    private static void radixSort(int[] array, int from, int to, boolean descending) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+        int range = max - min; // unsigned
+        int passes = (Integer.SIZE - Integer.numberOfLeadingZeros(range) + RADIX_BITS - 1) / RADIX_BITS;
+        if (passes == 0) {
+            return; // all values equal
+        }
+
+        int[][] counts = new int[passes][BUCKETS];
+        for (int i = from; i < to; i++) {
+            int key = array[i] - min;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & BUCKET_MASK]++;
+            }
+        }
+
+        int length = to - from;
+        int[] source = array;
+        int sourceStart = from;
+        int[] buffer = new int[length];
+        int bufferStart = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            int[] offsets = toOffsets(counts[pass], descending, bufferStart);
+            int shift = pass * RADIX_BITS;
+            for (int i = sourceStart, end = sourceStart + length; i < end; i++) {
+                int value = source[i];
+                buffer[offsets[((value - min) >>> shift) & BUCKET_MASK]++] = value;
+            }
+            int[] swap = source;
+            source = buffer;
+            buffer = swap;
+            int swapStart = sourceStart;
+            sourceStart = bufferStart;
+            bufferStart = swapStart;
+        }
+        if (source != array) {
+            System.arraycopy(source, 0, array, from, length);
+        }
+    }
+
+    private static void radixSort(double[] array, int from, int to, boolean descending) {
+        int[][] counts = new int[Long.BYTES][BUCKETS];
+        for (int i = from; i < to; i++) {
+            long key = sortableKey(array[i]);
+            for (int pass = 0; pass < Long.BYTES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & BUCKET_MASK]++;
+            }
+        }
+
+        int length = to - from;
+        long firstKey = sortableKey(array[from]);
+        double[] source = array;
+        int sourceStart = from;
+        double[] buffer = new double[length];
+        int bufferStart = 0;
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            int shift = pass * RADIX_BITS;
+            // a byte every key shares cannot change the order, so its pass is skipped
+            if (counts[pass][(int) (firstKey >>> shift) & BUCKET_MASK] == length) {
+                continue;
+            }
+            int[] offsets = toOffsets(counts[pass], descending, bufferStart);
+            for (int i = sourceStart, end = sourceStart + length; i < end; i++) {
+                double value = source[i];
+                buffer[offsets[(int) (sortableKey(value) >>> shift) & BUCKET_MASK]++] = value;
+            }
+            double[] swap = source;
+            source = buffer;
+            buffer = swap;
+            int swapStart = sourceStart;
+            sourceStart = bufferStart;
+            bufferStart = swapStart;
+        }
+        if (source != array) {
+            System.arraycopy(source, 0, array, from, length);
+        }
+    }
+
+    // Prefix sums over the bucket counts, starting at start; descending hands out positions from the top bucket down
+    private static int[] toOffsets(int[] counts, boolean descending, int start) {
+        int[] offsets = new int[BUCKETS];
+        int position = start;
+        if (descending) {
+            for (int bucket = BUCKETS - 1; bucket >= 0; bucket--) {
+                offsets[bucket] = position;
+                position += counts[bucket];
+            }
+        } else {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                offsets[bucket] = position;
+                position += counts[bucket];
+            }
+        }
+        return offsets;
+    }
+
+    // Maps a double to a long whose unsigned order matches Double.compare (for non-NaN values):
+    // negatives get every bit flipped, positives just the sign bit
+    private static long sortableKey(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,120 @@
+package com.string_manipulator.util;
+
+import static com.string_manipulator.util.GraphemeBreakProperty.*;
+
+/**
+ * UAX #29 extended grapheme cluster segmenter driven by {@link GraphemeBreakProperty}.
+ * All state lives in local variables, so one instance can be shared by every thread and
+ * segmenting never allocates.
+ */
+public final class TableGraphemeSegmenter implements GraphemeSegmenter {
+
+    public static final TableGraphemeSegmenter INSTANCE = new TableGraphemeSegmenter();
+
+    private TableGraphemeSegmenter() {
+    }
+
+    @Override
+    public int segment(String text, int from, int to, int[] out, int pos) {
+        for (int start = from; start < to; ) {
+            start = nextBoundary(text, start, to);
+            out[pos++] = start;
+        }
+        return pos;
+    }
+
+    @Override
+    public int count(String text) {
+        int count = 0;
+        for (int start = 0, length = text.length(); start < length; count++) {
+            start = nextBoundary(text, start, length);
+        }
+        return count;
+    }
+
+    /**
+     * End offset of the cluster that starts at {@code offset}, looking no further than {@code limit}.
+     */
+    public int nextBoundary(CharSequence text, int offset, int limit) {
+        int cp = codePointAt(text, offset, limit);
+        int pos = offset + Character.charCount(cp);
+        int entry = GraphemeBreakProperty.of(cp);
+        int previous = breakProperty(entry);
+
+        // GB11: 0 = outside an emoji sequence, 1 = after ExtPict Extend*, 2 = after ExtPict Extend* ZWJ
+        int emojiState = isExtendedPictographic(entry) ? 1 : 0;
+        // GB12/GB13: regional indicators seen in a row so far
+        int regionalIndicators = previous == REGIONAL_INDICATOR ? 1 : 0;
+
+        while (pos < limit) {
+            cp = codePointAt(text, pos, limit);
+            entry = GraphemeBreakProperty.of(cp);
+            int next = breakProperty(entry);
+            boolean pictographic = isExtendedPictographic(entry);
+
+            if (isBreak(previous, next, pictographic, emojiState, regionalIndicators)) {
+                break;
+            }
+
+            if (pictographic) {
+                emojiState = 1;
+            } else if (next == EXTEND && emojiState == 1) {
+                emojiState = 1;
+            } else if (next == ZWJ && emojiState == 1) {
+                emojiState = 2;
+            } else {
+                emojiState = 0;
+            }
+            regionalIndicators = next == REGIONAL_INDICATOR ? regionalIndicators + 1 : 0;
+            previous = next;
+            pos += Character.charCount(cp);
+        }
+        return pos;
+    }
+
+    private static boolean isBreak(int previous, int next, boolean nextPictographic,
+                                   int emojiState, int regionalIndicators) {
+        if (previous == CR && next == LF) {
+            return false;                                                   // GB3
+        }
+        if (previous == CR || previous == LF || previous == CONTROL) {
+            return true;                                                    // GB4
+        }
+        if (next == CR || next == LF || next == CONTROL) {
+            return true;                                                    // GB5
+        }
+        if (previous == L && (next == L || next == V || next == LV || next == LVT)) {
+            return false;                                                   // GB6
+        }
+        if ((previous == LV || previous == V) && (next == V || next == T)) {
+            return false;                                                   // GB7
+        }
+        if ((previous == LVT || previous == T) && next == T) {
+            return false;                                                   // GB8
+        }
+        if (next == EXTEND || next == ZWJ || next == SPACING_MARK) {
+            return false;                                                   // GB9, GB9a
+        }
+        if (previous == PREPEND) {
+            return false;                                                   // GB9b
+        }
+        if (emojiState == 2 && nextPictographic) {
+            return false;                                                   // GB11
+        }
+        if (previous == REGIONAL_INDICATOR && next == REGIONAL_INDICATOR) {
+            return regionalIndicators % 2 == 0;                             // GB12, GB13
+        }
+        return true;                                                        // GB999
+    }
+
+    private static int codePointAt(CharSequence text, int index, int limit) {
+        char high = text.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < limit) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,303 @@
+package com.string_manipulator.util.sum_logic;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Descriptive statistics in one fused pass over fixed blocks of {@link DoubleSumArray#BLOCK_SIZE}
+ * elements. For each block, while it is still in cache, the code computes:
+ * <ul>
+ *     <li>the sum (exact in {@code long} for ints, Neumaier-compensated for doubles);</li>
+ *     <li>min and max;</li>
+ *     <li>the parity and sign counts;</li>
+ *     <li>the sum of squared deviations from the block's own mean.</li>
+ * </ul>
+ * Blocks are then merged left to right with Chan et al.'s pairwise form of Welford's update. So
+ * the variance never subtracts two large sums of squares, and the parallel variant returns the
+ * same bits as the sequential one. The per-block loops are plain counted loops over primitives,
+ * which the JIT can unroll and vectorize.
+ * The double sum is bit-identical to {@link DoubleSumArray#compensatedSum}.
+ * Parity and sign follow {@link com.string_manipulator.util.PartitionEngine.Rule}: a fractional
+ * value is odd, zero is positive, and -0.0 is negative.
+ */
+public final class ArrayStatistics {
+
+    private static final int BLOCK_SIZE = DoubleSumArray.BLOCK_SIZE;
+    // block ranges shorter than this many elements are not worth forking
+    private static final int PARALLEL_GRAIN = 1 << 15;
+
+    // variance is the population variance (divided by count)
+    public record IntSummary(int count, long sum, int min, int max, double mean, double variance,
+                             int oddCount, int negativeCount) {}
+
+    public record DoubleSummary(int count, double sum, double min, double max, double mean, double variance,
+                                int oddCount, int negativeCount) {}
+
+    private ArrayStatistics() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    public static IntSummary summarize(int[] array) {
+        return summarize(array, 0, array.length);
+    }
+
+    public static IntSummary summarize(int[] array, ForkJoinPool pool) {
+        return summarize(array, 0, array.length, pool);
+    }
+
+    // A sub-range gives the same result as a copy of it would
+    public static IntSummary summarize(int[] array, int from, int to) {
+        IntBlocks blocks = new IntBlocks(array, from, to);
+        blocks.compute(0, blocks.count);
+        return blocks.combine();
+    }
+
+    public static IntSummary summarize(int[] array, int from, int to, ForkJoinPool pool) {
+        IntBlocks blocks = new IntBlocks(array, from, to);
+        pool.invoke(new BlockTask(blocks::compute, 0, blocks.count));
+        return blocks.combine();
+    }
+
+    public static DoubleSummary summarize(double[] array) {
+        return summarize(array, 0, array.length);
+    }
+
+    public static DoubleSummary summarize(double[] array, ForkJoinPool pool) {
+        return summarize(array, 0, array.length, pool);
+    }
+
+    public static DoubleSummary summarize(double[] array, int from, int to) {
+        DoubleBlocks blocks = new DoubleBlocks(array, from, to);
+        blocks.compute(0, blocks.count);
+        return blocks.combine();
+    }
+
+    public static DoubleSummary summarize(double[] array, int from, int to, ForkJoinPool pool) {
+        DoubleBlocks blocks = new DoubleBlocks(array, from, to);
+        pool.invoke(new BlockTask(blocks::compute, 0, blocks.count));
+        return blocks.combine();
+    }
+
+    /**************************************************************************/
+
+    // Per-block results for an int array; each block is written by exactly one task
+    private static final class IntBlocks {
+        private final int[] array;
+        private final int start;
+        private final int end;
+        private final int count;
+        private final long[] sums;
+        private final int[] mins;
+        private final int[] maxs;
+        private final double[] squaredDeviations;
+        private final int[] odds;
+        private final int[] negatives;
+
+        IntBlocks(int[] array, int start, int end) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+            this.count = DoubleSumArray.blockCount(end - start);
+            this.sums = new long[count];
+            this.mins = new int[count];
+            this.maxs = new int[count];
+            this.squaredDeviations = new double[count];
+            this.odds = new int[count];
+            this.negatives = new int[count];
+        }
+
+        void compute(int firstBlock, int endBlock) {
+            for (int b = firstBlock; b < endBlock; b++) {
+                int from = start + b * BLOCK_SIZE;
+                int to = Math.min(end, from + BLOCK_SIZE);
+                // min/max get a loop of their own: fused with the add reductions, this loop
+                // crashes C2's SuperWord pass on JDK 21.0.1
+                long sum = 0;
+                int odd = 0;
+                int negative = 0;
+                for (int i = from; i < to; i++) {
+                    int value = array[i];
+                    sum += value;
+                    odd += value & 1;
+                    negative += value >>> 31;
+                }
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    min = Math.min(min, array[i]);
+                    max = Math.max(max, array[i]);
+                }
+                sums[b] = sum;
+                mins[b] = min;
+                maxs[b] = max;
+                squaredDeviations[b] = squaredDeviations(array, from, to, (double) sum / (to - from));
+                odds[b] = odd;
+                negatives[b] = negative;
+            }
+        }
+
+        IntSummary combine() {
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            int odd = 0;
+            int negative = 0;
+            Moments moments = new Moments();
+            for (int b = 0; b < count; b++) {
+                int n = Math.min(end - start, (b + 1) * BLOCK_SIZE) - b * BLOCK_SIZE;
+                sum += sums[b];
+                min = Math.min(min, mins[b]);
+                max = Math.max(max, maxs[b]);
+                odd += odds[b];
+                negative += negatives[b];
+                moments.merge(n, n > 0 ? (double) sums[b] / n : 0, squaredDeviations[b]);
+            }
+            return new IntSummary(end - start, sum, min, max, (double) sum / (end - start),
+                    moments.variance(), odd, negative);
+        }
+    }
+
+    private static final class DoubleBlocks {
+        private final double[] array;
+        private final int start;
+        private final int end;
+        private final int count;
+        private final double[] sums;
+        private final double[] compensations;
+        private final double[] mins;
+        private final double[] maxs;
+        private final double[] squaredDeviations;
+        private final int[] odds;
+        private final int[] negatives;
+
+        DoubleBlocks(double[] array, int start, int end) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+            this.count = DoubleSumArray.blockCount(end - start);
+            this.sums = new double[count];
+            this.compensations = new double[count];
+            this.mins = new double[count];
+            this.maxs = new double[count];
+            this.squaredDeviations = new double[count];
+            this.odds = new int[count];
+            this.negatives = new int[count];
+        }
+
+        void compute(int firstBlock, int endBlock) {
+            for (int b = firstBlock; b < endBlock; b++) {
+                int from = start + b * BLOCK_SIZE;
+                int to = Math.min(end, from + BLOCK_SIZE);
+                DoubleSumArray.sumBlock(array, start, end, b, sums, compensations);
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                int odd = 0;
+                int negative = 0;
+                for (int i = from; i < to; i++) {
+                    double value = array[i];
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    // same answer as value % 2 != 0 for finite values, without the slow remainder
+                    odd += Math.floor(value * 0.5) * 2 == value ? 0 : 1;
+                    negative += (int) (Double.doubleToRawLongBits(value) >>> 63);
+                }
+                mins[b] = min;
+                maxs[b] = max;
+                squaredDeviations[b] = squaredDeviations(array, from, to, (sums[b] + compensations[b]) / (to - from));
+                odds[b] = odd;
+                negatives[b] = negative;
+            }
+        }
+
+        DoubleSummary combine() {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int odd = 0;
+            int negative = 0;
+            Moments moments = new Moments();
+            for (int b = 0; b < count; b++) {
+                int n = Math.min(end - start, (b + 1) * BLOCK_SIZE) - b * BLOCK_SIZE;
+                min = Math.min(min, mins[b]);
+                max = Math.max(max, maxs[b]);
+                odd += odds[b];
+                negative += negatives[b];
+                moments.merge(n, n > 0 ? (sums[b] + compensations[b]) / n : 0, squaredDeviations[b]);
+            }
+            double sum = DoubleSumArray.combineBlocks(sums, compensations);
+            return new DoubleSummary(end - start, sum, min, max, sum / (end - start),
+                    moments.variance(), odd, negative);
+        }
+    }
+
+    // Second look at a block that is still in cache. A separate method over a parameter, because the
+    // same loop written inline in compute() crashed C2's SuperWord pass when OSR-compiled on JDK 21.0.1
+    private static double squaredDeviations(int[] array, int from, int to, double mean) {
+        double squares = 0;
+        for (int i = from; i < to; i++) {
+            double deviation = array[i] - mean;
+            squares += deviation * deviation;
+        }
+        return squares;
+    }
+
+    private static double squaredDeviations(double[] array, int from, int to, double mean) {
+        double squares = 0;
+        for (int i = from; i < to; i++) {
+            double deviation = array[i] - mean;
+            squares += deviation * deviation;
+        }
+        return squares;
+    }
+
+    // Running count, mean and sum of squared deviations, merged a block at a time (Chan et al.)
+    private static final class Moments {
+        private long count;
+        private double mean;
+        private double squaredDeviations;
+
+        void merge(long blockCount, double blockMean, double blockSquaredDeviations) {
+            if (blockCount == 0) {
+                return;
+            }
+            long total = count + blockCount;
+            double delta = blockMean - mean;
+            mean += delta * blockCount / total;
+            squaredDeviations += blockSquaredDeviations + delta * delta * ((double) count * blockCount / total);
+            count = total;
+        }
+
+        double variance() {
+            return count == 0 ? 0 : squaredDeviations / count;
+        }
+    }
+
+    // Splits the block range in halves until a range is small enough to compute in place
+    private static final class BlockTask extends RecursiveAction {
+        private final BlockRange work;
+        private final int firstBlock;
+        private final int endBlock;
+
+        BlockTask(BlockRange work, int firstBlock, int endBlock) {
+            this.work = work;
+            this.firstBlock = firstBlock;
+            this.endBlock = endBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if ((long) (endBlock - firstBlock) * BLOCK_SIZE <= PARALLEL_GRAIN) {
+                work.compute(firstBlock, endBlock);
+                return;
+            }
+            int middle = (firstBlock + endBlock) >>> 1;
+            invokeAll(new BlockTask(work, firstBlock, middle), new BlockTask(work, middle, endBlock));
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockRange {
+        void compute(int firstBlock, int endBlock);
+    }
+}
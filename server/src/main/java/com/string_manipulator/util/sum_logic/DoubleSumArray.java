@@ -1,13 +1,251 @@
 package com.string_manipulator.util.sum_logic;
 
-public class DoubleSumArray {
+import java.nio.DoubleBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
 
-    public static double findSum(double[] array, int length) {
-        if (length == 1) {
-            return array[0];
+/**
+ * Accurate double sums. Both modes split the array by size alone, never by thread count, so
+ * the sequential and parallel variants add exactly the same numbers in exactly the same order
+ * and return bit-identical results on any machine.
+ * <ul>
+ *     <li>Compensated: Neumaier summation over fixed blocks, block results combined left to right
+ *     the same way. Error stays around one rounding no matter how long or mixed the input is.</li>
+ *     <li>Pairwise: halves the range down to short leaves and adds the halves, so the error
+ *     grows with log n instead of n.</li>
+ * </ul>
+ * The {@link DoubleBuffer} variants read a buffer in place (an off-heap dataset) over the same
+ * blocks and tree, so they return the same bits as the array variants over a copy of it.
+ */
+public final class DoubleSumArray {
+
+    // compensated sum works on blocks of this many elements; ArrayStatistics uses the same blocks
+    static final int BLOCK_SIZE = 4096;
+    // pairwise recursion stops at ranges this short and adds them in a loop
+    private static final int PAIRWISE_LEAF = 128;
+    // ranges shorter than this are not worth forking
+    private static final int PARALLEL_GRAIN = 1 << 15;
+
+    private DoubleSumArray() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**************************************************************************/
+
+    public static double compensatedSum(double[] array) {
+        return compensatedSum(array, 0, array.length);
+    }
+
+    public static double compensatedSum(double[] array, ForkJoinPool pool) {
+        return compensatedSum(array, 0, array.length, pool);
+    }
+
+    // Blocks start at from, so a sub-range sums to the same bits as a copy of it would
+    public static double compensatedSum(double[] array, int from, int to) {
+        int blocks = blockCount(to - from);
+        double[] sums = new double[blocks];
+        double[] compensations = new double[blocks];
+        sumBlocks(array, from, to, 0, blocks, sums, compensations);
+        return combineBlocks(sums, compensations);
+    }
+
+    public static double compensatedSum(double[] array, int from, int to, ForkJoinPool pool) {
+        int blocks = blockCount(to - from);
+        double[] sums = new double[blocks];
+        double[] compensations = new double[blocks];
+        pool.invoke(new BlockTask(0, blocks, b -> sumBlock(array, from, to, b, sums, compensations)));
+        return combineBlocks(sums, compensations);
+    }
+
+    // The whole buffer, indexed from 0 to its limit
+    public static double compensatedSum(DoubleBuffer values) {
+        int blocks = blockCount(values.limit());
+        double[] sums = new double[blocks];
+        double[] compensations = new double[blocks];
+        for (int b = 0; b < blocks; b++) {
+            sumBlock(values, b, sums, compensations);
         }
+        return combineBlocks(sums, compensations);
+    }
+
+    public static double compensatedSum(DoubleBuffer values, ForkJoinPool pool) {
+        int blocks = blockCount(values.limit());
+        double[] sums = new double[blocks];
+        double[] compensations = new double[blocks];
+        pool.invoke(new BlockTask(0, blocks, b -> sumBlock(values, b, sums, compensations)));
+        return combineBlocks(sums, compensations);
+    }
+
+    public static double pairwiseSum(double[] array) {
+        return pairwise(array, 0, array.length);
+    }
+
+    public static double pairwiseSum(double[] array, ForkJoinPool pool) {
+        return pairwiseSum(array, 0, array.length, pool);
+    }
+
+    public static double pairwiseSum(double[] array, int from, int to) {
+        return pairwise(array, from, to);
+    }
+
+    public static double pairwiseSum(double[] array, int from, int to, ForkJoinPool pool) {
+        return pool.invoke(new PairwiseTask(from, to, (start, end) -> pairwise(array, start, end)));
+    }
+
+    public static double pairwiseSum(DoubleBuffer values) {
+        return pairwise(values, 0, values.limit());
+    }
+
+    public static double pairwiseSum(DoubleBuffer values, ForkJoinPool pool) {
+        return pool.invoke(new PairwiseTask(0, values.limit(), (start, end) -> pairwise(values, start, end)));
+    }
+
+    /**************************************************************************/
+
+    static int blockCount(int length) {
+        return Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
 
-        //using recursion in this design context is fine, but I see the limitation now
-        return (findSum(array, length - 1) + array[length - 1]);
+    private static void sumBlocks(double[] array, int from, int to, int firstBlock, int endBlock,
+                                  double[] sums, double[] compensations) {
+        for (int b = firstBlock; b < endBlock; b++) {
+            sumBlock(array, from, to, b, sums, compensations);
+        }
+    }
+
+    // block b of the range [from, to) is [from + b * BLOCK_SIZE, from + (b + 1) * BLOCK_SIZE), cut at to
+    static void sumBlock(double[] array, int from, int to, int b, double[] sums, double[] compensations) {
+        int end = Math.min(to, from + (b + 1) * BLOCK_SIZE);
+        double sum = 0;
+        double compensation = 0;
+        for (int i = from + b * BLOCK_SIZE; i < end; i++) {
+            double value = array[i];
+            double t = sum + value;
+            // keep whichever low-order bits the addition just rounded away
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        sums[b] = sum;
+        compensations[b] = compensation;
+    }
+
+    private static void sumBlock(DoubleBuffer values, int b, double[] sums, double[] compensations) {
+        int end = Math.min(values.limit(), (b + 1) * BLOCK_SIZE);
+        double sum = 0;
+        double compensation = 0;
+        for (int i = b * BLOCK_SIZE; i < end; i++) {
+            double value = values.get(i);
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        sums[b] = sum;
+        compensations[b] = compensation;
+    }
+
+    static double combineBlocks(double[] sums, double[] compensations) {
+        double sum = 0;
+        double compensation = 0;
+        for (int b = 0; b < sums.length; b++) {
+            double t = sum + sums[b];
+            if (Math.abs(sum) >= Math.abs(sums[b])) {
+                compensation += (sum - t) + sums[b];
+            } else {
+                compensation += (sums[b] - t) + sum;
+            }
+            sum = t;
+            compensation += compensations[b];
+        }
+        return sum + compensation;
+    }
+
+    private static double pairwise(double[] array, int from, int to) {
+        if (to - from <= PAIRWISE_LEAF) {
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += array[i];
+            }
+            return sum;
+        }
+        int middle = (from + to) >>> 1;
+        return pairwise(array, from, middle) + pairwise(array, middle, to);
+    }
+
+    private static double pairwise(DoubleBuffer values, int from, int to) {
+        if (to - from <= PAIRWISE_LEAF) {
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += values.get(i);
+            }
+            return sum;
+        }
+        int middle = (from + to) >>> 1;
+        return pairwise(values, from, middle) + pairwise(values, middle, to);
+    }
+
+    // sums [from, to) of whatever the task reads, sequentially
+    @FunctionalInterface
+    private interface RangeSum {
+        double sum(int from, int to);
+    }
+
+    // same split as pairwise(), with the top levels of the tree forked
+    private static final class PairwiseTask extends RecursiveTask<Double> {
+        private final int from;
+        private final int to;
+        private final RangeSum leaf;
+
+        PairwiseTask(int from, int to, RangeSum leaf) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= PARALLEL_GRAIN) {
+                return leaf.sum(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PairwiseTask left = new PairwiseTask(from, middle, leaf);
+            left.fork();
+            double right = new PairwiseTask(middle, to, leaf).compute();
+            return left.join() + right;
+        }
+    }
+
+    // splits the block range in halves and sums the blocks of each small enough range in place
+    private static final class BlockTask extends RecursiveAction {
+        private final int firstBlock;
+        private final int endBlock;
+        private final IntConsumer sumBlock;
+
+        BlockTask(int firstBlock, int endBlock, IntConsumer sumBlock) {
+            this.firstBlock = firstBlock;
+            this.endBlock = endBlock;
+            this.sumBlock = sumBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if ((long) (endBlock - firstBlock) * BLOCK_SIZE <= PARALLEL_GRAIN) {
+                for (int b = firstBlock; b < endBlock; b++) {
+                    sumBlock.accept(b);
+                }
+                return;
+            }
+            int middle = (firstBlock + endBlock) >>> 1;
+            invokeAll(new BlockTask(firstBlock, middle, sumBlock), new BlockTask(middle, endBlock, sumBlock));
+        }
     }
 }
@@ -0,0 +1,48 @@
+package com.string_manipulator.util.sum_logic;
+
+import java.nio.IntBuffer;
+
+/**
+ * Iterative int sum accumulated in {@code long}, so it cannot overflow: even an array of
+ * {@code Integer.MAX_VALUE} elements of {@code Integer.MAX_VALUE} each stays below 2^62.
+ * Uses the Vector API when {@code jdk.incubator.vector} is resolved
+ * ({@code --add-modules jdk.incubator.vector}) and a scalar loop otherwise.
+ */
+public final class IntSumArray {
+
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private IntSumArray() {
+        /* This utility class should not be instantiated */
+    }
+
+    public static long findSum(int[] array) {
+        return findSum(array, 0, array.length);
+    }
+
+    public static long findSum(int[] array, int from, int to) {
+        return VECTOR_API ? VectorIntSum.sum(array, from, to) : scalarSum(array, from, to);
+    }
+
+    // The whole buffer, indexed from 0 to its limit. Scalar: on Java 21 the Vector API only loads
+    // from a buffer through memory segments, which are still a preview
+    public static long findSum(IntBuffer values) {
+        long total = 0;
+        for (int i = 0, n = values.limit(); i < n; i++) {
+            total += values.get(i);
+        }
+        return total;
+    }
+
+    public static boolean isVectorized() {
+        return VECTOR_API;
+    }
+
+    static long scalarSum(int[] array, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += array[i];
+        }
+        return total;
+    }
+}
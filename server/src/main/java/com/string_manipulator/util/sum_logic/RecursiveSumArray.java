@@ -1,17 +0,0 @@
-package com.string_manipulator.util.sum_logic;
-
-/* @author Joe Nguyen */
-
-public class RecursiveSumArray {
-
-    public static int findSum(int[] array, int length) {
-        if (length == 1) {
-            return array[0];
-        }
-
-
-        //using recursion in this design context is fine, but I see the limitation now
-        return (findSum(array, length - 1) + array[length - 1]);
-    }
-
-}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.string_manipulator.util.sum_logic;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel behind {@link IntSumArray}. Ints are loaded half a register at a time and
+ * widened into {@code long} lanes, so every lane adds exactly and the only scalar work is the
+ * final lane reduction and the tail. Only referenced once the incubator module is known to be present.
+ */
+final class VectorIntSum {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // as many int lanes as long lanes, so one load widens into one full long vector
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    private VectorIntSum() {
+        /* This utility class should not be instantiated */
+    }
+
+    static long sum(int[] array, int from, int to) {
+        int step = INTS.length();
+        // two independent accumulators keep the adds from waiting on each other
+        LongVector first = LongVector.zero(LONGS);
+        LongVector second = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = to - 2 * step; i <= bound; i += 2 * step) {
+            first = first.add(widen(array, i));
+            second = second.add(widen(array, i + step));
+        }
+        for (int bound = to - step; i <= bound; i += step) {
+            first = first.add(widen(array, i));
+        }
+        return first.add(second).reduceLanes(VectorOperators.ADD) + IntSumArray.scalarSum(array, i, to);
+    }
+
+    private static LongVector widen(int[] array, int offset) {
+        return (LongVector) IntVector.fromArray(INTS, array, offset).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.util.JdkGraphemeSegmenter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringFileServiceTest {
+
+    private final StringService stringService = new StringService(JdkGraphemeSegmenter.INSTANCE, 65536);
+    private final StringFileService stringFileService = new StringFileService(stringService, JdkGraphemeSegmenter.INSTANCE);
+    // 1000 graphemes, 3400 chars: combining sequences and emoji with a skin tone
+    private final String text = "e\u0301\u0302".repeat(600) + "\uD83D\uDC4D\uD83C\uDFFD".repeat(400);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shiftMatchesTheJsonEndpoint() throws IOException {
+        Path input = write("in.txt", text);
+        Path output = dir.resolve("out.txt");
+
+        for (int shifts : new int[]{0, 1, 999, 1000, 1001, 2999, 3000, 3001, 4321, Integer.MAX_VALUE}) {
+            for (String direction : new String[]{"left", "right"}) {
+                stringFileService.shiftFile(input, output, shifts, direction);
+
+                assertThat(read(output)).as("%d %s", shifts, direction)
+                        .isEqualTo(stringService.shiftString(text, shifts, direction));
+            }
+        }
+    }
+
+    @Test
+    void reverseMatchesTheJsonEndpoint() throws IOException {
+        Path input = write("in.txt", text + "\nline two\r\n");
+        Path output = dir.resolve("out.txt");
+
+        stringFileService.reverseFile(input, output);
+
+        assertThat(read(output)).isEqualTo(stringService.reverseString(text + "\nline two\r\n"));
+    }
+
+    @Test
+    void outputThatIsTheInputIsRejected() throws IOException {
+        Path input = write("in.txt", text);
+        Path link = Files.createSymbolicLink(dir.resolve("link.txt"), input);
+        Path hardLink = Files.createLink(dir.resolve("hard.txt"), input);
+
+        for (Path output : new Path[]{input, dir.resolve("./in.txt"), link, hardLink}) {
+            assertThatThrownBy(() -> stringFileService.reverseFile(input, output))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("same file");
+            assertThatThrownBy(() -> stringFileService.shiftFile(input, output, 3, "right"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("same file");
+        }
+        assertThat(read(input)).isEqualTo(text);
+    }
+
+    /**************************************************************************/
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static String read(Path path) throws IOException {
+        return Files.readString(path, StandardCharsets.UTF_8);
+    }
+}
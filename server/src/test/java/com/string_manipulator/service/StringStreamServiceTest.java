@@ -0,0 +1,81 @@
+package com.string_manipulator.service;
+
+import com.string_manipulator.util.JdkGraphemeSegmenter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringStreamServiceTest {
+
+    private final StringService stringService = new StringService(JdkGraphemeSegmenter.INSTANCE, 65536);
+    // 1000 graphemes, 3000 chars: every cluster is a letter with two combining marks
+    private final String text = "e\u0301\u0302".repeat(600) + "a\u0308\u0303".repeat(400);
+
+    @Test
+    void spilledAndInMemoryShiftsAgree() throws IOException {
+        StringStreamService inMemory = new StringStreamService(stringService, JdkGraphemeSegmenter.INSTANCE, 1 << 20, 1 << 20);
+        StringStreamService spilling = new StringStreamService(stringService, JdkGraphemeSegmenter.INSTANCE, 100, 1 << 20);
+
+        for (int shifts : new int[]{0, 1, 999, 1000, 1001, 2999, 3000, 3001, 4321, Integer.MAX_VALUE}) {
+            for (String direction : new String[]{"left", "right"}) {
+                String expected = stringService.shiftString(text, shifts, direction);
+
+                assertThat(shift(inMemory, shifts, direction)).as("%d %s in memory", shifts, direction).isEqualTo(expected);
+                assertThat(shift(spilling, shifts, direction)).as("%d %s spilled", shifts, direction).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void spilledReverseMatchesInMemory() throws IOException {
+        StringStreamService spilling = new StringStreamService(stringService, JdkGraphemeSegmenter.INSTANCE, 100, 1 << 20);
+        StringWriter output = new StringWriter();
+
+        spilling.reverseStream(new StringReader(text), output);
+
+        assertThat(output.toString()).isEqualTo(stringService.reverseString(text));
+    }
+
+    @Test
+    void bodiesPastTheCapAreRejected() throws IOException {
+        StringStreamService capped = new StringStreamService(stringService, JdkGraphemeSegmenter.INSTANCE, 100, 1000);
+        byte[] body = "abc\n".repeat(300).getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> capped.limit(new ByteArrayInputStream(body), body.length))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("limit of 1000 bytes");
+        // no declared length: fails once the reader goes past the cap
+        Reader undeclared = new InputStreamReader(capped.limit(new ByteArrayInputStream(body), -1), StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> capped.reverseStream(undeclared, new StringWriter()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("limit of 1000 bytes");
+
+        assertThat(capped.expectedChars(-1)).isEqualTo(1000);
+        assertThat(capped.expectedChars(body.length)).isEqualTo(body.length);
+    }
+
+    @Test
+    void effectiveShiftsReducesByCharsThenGraphemes() {
+        assertThat(StringService.effectiveShifts(3500, 3000, 1000)).isEqualTo(500);
+        assertThat(StringService.effectiveShifts(2500, 3000, 1000)).isEqualTo(500);
+        assertThat(StringService.effectiveShifts(3000, 3000, 1000)).isZero();
+        assertThat(StringService.effectiveShifts(5, 0, 0)).isZero();
+    }
+
+    /**************************************************************************/
+
+    private String shift(StringStreamService service, int shifts, String direction) throws IOException {
+        StringWriter output = new StringWriter();
+        service.shiftStream(new StringReader(text), output, shifts, direction);
+        return output.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryArrayCodecTest {
+
+    private static final long MAX_EXACT = 1L << 53;
+    // on both sides of the 64 KiB decode chunk, for 4- and 8-byte values
+    private static final int[] LENGTHS = {0, 1, 8191, 8192, 8193, 16383, 16384, 16385, 50_000};
+
+    /**************************************************************************/
+
+    @Test
+    void headerLayoutMatchesTheDocumentedFormat() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryArrayCodec.write(out, 1, new int[]{5, -6, 7}, new int[]{Integer.MIN_VALUE});
+
+        assertThat(out.toByteArray()).isEqualTo(reference(1, 1, 4, 3, 5, -6, 7, Integer.MIN_VALUE));
+    }
+
+    @Test
+    void intsRoundTripAcrossChunkBoundaries() throws IOException {
+        Random random = new Random(1);
+        for (int length : LENGTHS) {
+            int[] values = random.ints(length).toArray();
+            if (length > 0) {
+                values[length / 2] = Integer.MIN_VALUE;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryArrayCodec.write(out, 0, values);
+
+            BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(new ByteArrayInputStream(out.toByteArray()), length);
+
+            assertThat(frame.type()).isEqualTo(BinaryArrayCodec.ElementType.INT32);
+            assertThat(frame.ints()).isEqualTo(values);
+        }
+    }
+
+    @Test
+    void doublesRoundTripBitForBit() throws IOException {
+        Random random = new Random(2);
+        double[] edges = {-0.0, 0.0, Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, Double.NaN};
+        for (int length : LENGTHS) {
+            double[] values = random.doubles(length, -1e300, 1e300).toArray();
+            for (int i = 0; i < Math.min(length, edges.length); i++) {
+                values[i] = edges[i];
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryArrayCodec.write(out, 1, values);
+
+            BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(new ByteArrayInputStream(out.toByteArray()), length);
+
+            assertThat(frame.type()).isEqualTo(BinaryArrayCodec.ElementType.FLOAT64);
+            assertThat(frame.parameter()).isEqualTo(1);
+            assertThat(frame.doubles()).isEqualTo(values);
+        }
+    }
+
+    @Test
+    void int64IsWidenedUpToTwoToTheFiftyThird() throws IOException {
+        long[] exact = {0, -1, MAX_EXACT, -MAX_EXACT, MAX_EXACT - 1, Integer.MIN_VALUE};
+        BinaryArrayCodec.Frame frame = BinaryArrayCodec.read(new ByteArrayInputStream(int64Body(exact)), 10);
+
+        assertThat(frame.doubles()).containsExactly(0, -1, 9007199254740992.0, -9007199254740992.0,
+                9007199254740991.0, Integer.MIN_VALUE);
+    }
+
+    @Test
+    void int64PastTwoToTheFiftyThirdIsRejected() {
+        for (long value : new long[]{MAX_EXACT + 1, -MAX_EXACT - 1, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertThatThrownBy(() -> BinaryArrayCodec.read(new ByteArrayInputStream(int64Body(1, value)), 10))
+                    .as("%d", value)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("outside +/-2^53");
+        }
+    }
+
+    @Test
+    void countIsReadAsUnsigned() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryArrayCodec.writeHeader(out, BinaryArrayCodec.ElementType.FLOAT64, 0, 0xFFFF_FFFFL);
+
+        BinaryArrayCodec.Header header = BinaryArrayCodec.readHeader(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(header.count()).isEqualTo(4_294_967_295L);
+        assertThatThrownBy(() -> BinaryArrayCodec.read(new ByteArrayInputStream(out.toByteArray()), 1000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("got 4294967295");
+    }
+
+    @Test
+    void truncatedBodiesAndBadHeadersAreRejected() {
+        byte[] body = reference(1, 0, 3, 0, 1, 2, 3);
+
+        assertThatThrownBy(() -> BinaryArrayCodec.read(new ByteArrayInputStream(body, 0, body.length - 1), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ended inside the values");
+        assertThatThrownBy(() -> BinaryArrayCodec.read(new ByteArrayInputStream(body, 0, 10), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ended inside the header");
+        byte[] unknownType = body.clone();
+        unknownType[0] = 9;
+        assertThatThrownBy(() -> BinaryArrayCodec.read(new ByteArrayInputStream(unknownType), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown element type 9");
+    }
+
+    @Test
+    void scalarAndHeaderlessWritesMatchTheFraming() throws IOException {
+        ByteArrayOutputStream scalar = new ByteArrayOutputStream();
+        BinaryArrayCodec.write(scalar, 1, Long.MIN_VALUE);
+        byte[] expected = int64Body(Long.MIN_VALUE);
+        expected[1] = 1;
+        assertThat(scalar.toByteArray()).isEqualTo(expected);
+
+        int[] values = new Random(3).ints(20_000).toArray();
+        ByteArrayOutputStream framed = new ByteArrayOutputStream();
+        BinaryArrayCodec.write(framed, 0, values);
+        ByteArrayOutputStream bare = new ByteArrayOutputStream();
+        BinaryArrayCodec.writeValues(bare, values);
+        byte[] framedBytes = framed.toByteArray();
+        assertThat(bare.toByteArray())
+                .isEqualTo(Arrays.copyOfRange(framedBytes, BinaryArrayCodec.HEADER_SIZE, framedBytes.length));
+    }
+
+    /**************************************************************************/
+
+    // The format spelled out field by field, independently of the codec's own header()
+    private static byte[] reference(int type, int parameter, int count, int aux, int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryArrayCodec.HEADER_SIZE + values.length * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(0, (byte) type).put(1, (byte) parameter).putInt(4, count).putInt(8, aux);
+        for (int i = 0; i < values.length; i++) {
+            buffer.putInt(BinaryArrayCodec.HEADER_SIZE + i * Integer.BYTES, values[i]);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] int64Body(long... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryArrayCodec.HEADER_SIZE + values.length * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(0, (byte) 2).putInt(4, values.length);
+        for (int i = 0; i < values.length; i++) {
+            buffer.putLong(BinaryArrayCodec.HEADER_SIZE + i * Long.BYTES, values[i]);
+        }
+        return buffer.array();
+    }
+}
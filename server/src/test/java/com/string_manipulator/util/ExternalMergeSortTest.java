@@ -0,0 +1,176 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalMergeSortTest {
+
+    // one run, a few, more than the 16 initial run offsets, and many small ones
+    private static final int[] RUN_COUNTS = {1, 2, 3, 17, 100};
+
+    private static final double[] DOUBLE_EDGES = {
+            -0.0, 0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    /**************************************************************************/
+
+    @Test
+    void intRunsMergeLikeArraysSort() throws IOException {
+        Random random = new Random(1);
+        for (int runs : RUN_COUNTS) {
+            int[][] chunks = new int[runs][];
+            for (int r = 0; r < runs; r++) {
+                // empty runs, runs inside one read-ahead block and runs spanning several
+                chunks[r] = random.ints(random.nextInt(3) == 0 ? 0 : random.nextInt(40_000)).toArray();
+                if (chunks[r].length > 1) {
+                    chunks[r][0] = Integer.MIN_VALUE;
+                    chunks[r][1] = Integer.MAX_VALUE;
+                }
+            }
+            for (boolean descending : new boolean[]{false, true}) {
+                assertThat(mergeInts(chunks, descending)).as("%d runs, descending %b", runs, descending)
+                        .isEqualTo(sortedInts(chunks, descending));
+            }
+        }
+    }
+
+    @Test
+    void doubleRunsMergeInDoubleCompareOrder() throws IOException {
+        Random random = new Random(2);
+        for (int runs : RUN_COUNTS) {
+            double[][] chunks = new double[runs][];
+            for (int r = 0; r < runs; r++) {
+                chunks[r] = new double[random.nextInt(3) == 0 ? 0 : random.nextInt(20_000)];
+                for (int i = 0; i < chunks[r].length; i++) {
+                    chunks[r][i] = random.nextInt(5) == 0
+                            ? DOUBLE_EDGES[random.nextInt(DOUBLE_EDGES.length)]
+                            : (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(600) - 300);
+                }
+            }
+            for (boolean descending : new boolean[]{false, true}) {
+                // isEqualTo on double[] tells -0.0 from 0.0
+                assertThat(mergeDoubles(chunks, descending)).as("%d runs, descending %b", runs, descending)
+                        .isEqualTo(sortedDoubles(chunks, descending));
+            }
+        }
+    }
+
+    @Test
+    void onlyTheGivenPrefixOfARunIsSpilled() throws IOException {
+        try (ExternalMergeSort sort = new ExternalMergeSort(true, false)) {
+            sort.addRun(new int[]{1, 4, 9, 99, 99}, 3);
+            sort.addRun(new int[]{2, 3, -7}, 2);
+
+            assertThat(sort.runCount()).isEqualTo(2);
+            assertThat(sort.spillBytes()).isEqualTo(5L * Integer.BYTES);
+            assertThat(toInts(merge(sort))).containsExactly(1, 2, 3, 4, 9);
+        }
+    }
+
+    @Test
+    void runsOfTheOtherTypeAreRejected() throws IOException {
+        try (ExternalMergeSort ints = new ExternalMergeSort(true, false);
+             ExternalMergeSort doubles = new ExternalMergeSort(false, false)) {
+            assertThatThrownBy(() -> ints.addRun(new double[]{1.0}, 1)).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> doubles.addRun(new int[]{1}, 1)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void noRunsWriteNothing() throws IOException {
+        try (ExternalMergeSort sort = new ExternalMergeSort(false, true)) {
+            assertThat(merge(sort)).isEmpty();
+        }
+    }
+
+    /**************************************************************************/
+
+    private static int[] mergeInts(int[][] chunks, boolean descending) throws IOException {
+        try (ExternalMergeSort sort = new ExternalMergeSort(true, descending)) {
+            for (int[] chunk : chunks) {
+                int[] run = chunk.clone();
+                Arrays.sort(run);
+                if (descending) {
+                    reverse(run);
+                }
+                sort.addRun(run, run.length);
+            }
+            return toInts(merge(sort));
+        }
+    }
+
+    private static double[] mergeDoubles(double[][] chunks, boolean descending) throws IOException {
+        try (ExternalMergeSort sort = new ExternalMergeSort(false, descending)) {
+            for (double[] chunk : chunks) {
+                double[] run = chunk.clone();
+                Arrays.sort(run);
+                if (descending) {
+                    reverse(run);
+                }
+                sort.addRun(run, run.length);
+            }
+            return toDoubles(merge(sort));
+        }
+    }
+
+    private static int[] sortedInts(int[][] chunks, boolean descending) {
+        int[] all = Arrays.stream(chunks).flatMapToInt(Arrays::stream).sorted().toArray();
+        if (descending) {
+            reverse(all);
+        }
+        return all;
+    }
+
+    private static double[] sortedDoubles(double[][] chunks, boolean descending) {
+        double[] all = Arrays.stream(chunks).flatMapToDouble(Arrays::stream).toArray();
+        Arrays.sort(all);
+        if (descending) {
+            reverse(all);
+        }
+        return all;
+    }
+
+    private static byte[] merge(ExternalMergeSort sort) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sort.mergeTo(out);
+        return out.toByteArray();
+    }
+
+    private static int[] toInts(byte[] bytes) {
+        int[] values = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values);
+        return values;
+    }
+
+    private static double[] toDoubles(byte[] bytes) {
+        double[] values = new double[bytes.length / Double.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+
+    private static void reverse(double[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            double swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+}
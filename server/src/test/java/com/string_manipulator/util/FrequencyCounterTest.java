@@ -0,0 +1,120 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencyCounterTest {
+
+    /**************************************************************************/
+
+    @Test
+    void intCountsMatchAMapInFirstOccurrenceOrder() {
+        Random random = new Random(1);
+        for (int bound : new int[]{1, 10, 1000, Integer.MAX_VALUE}) {
+            int[] array = random.ints(50_000, -bound, bound).toArray();
+            assertIntTableMatches(FrequencyCounter.count(array), array);
+        }
+    }
+
+    @Test
+    void intTableRehashesWithoutLosingCounts() {
+        // presized for nothing, so every doubling rehashes; keys that differ only in their high bits,
+        // 0 (an empty slot is marked by entry 0, not by key 0) and the int extremes
+        int[] array = new int[200_000];
+        for (int i = 0; i < array.length; i++) {
+            int value = (i % 70_000) << 14;
+            array[i] = i % 1000 == 0 ? Integer.MIN_VALUE : i % 1001 == 0 ? Integer.MAX_VALUE : value;
+        }
+        FrequencyCounter.IntTable table = new FrequencyCounter.IntTable(0);
+        for (int value : array) {
+            table.add(value);
+        }
+
+        assertIntTableMatches(table, array);
+    }
+
+    @Test
+    void doubleCountsFoldNegativeZeroAndKeepTheFirstSpelling() {
+        double[] array = {-0.0, 1.5, 0.0, -0.0, 1.5, Double.MIN_VALUE, -Double.MAX_VALUE, 0.0};
+        FrequencyCounter.DoubleTable table = FrequencyCounter.count(array);
+        int[] entries = table.order(false, Integer.MAX_VALUE);
+
+        assertThat(table.values(entries)).containsExactly(-0.0, 1.5, Double.MIN_VALUE, -Double.MAX_VALUE);
+        assertThat(table.counts(entries)).containsExactly(4, 2, 1, 1);
+    }
+
+    @Test
+    void doubleTableRehashesWithoutLosingCounts() {
+        Random random = new Random(2);
+        double[] array = new double[100_000];
+        for (int i = 0; i < array.length; i++) {
+            // neighbouring doubles share all but their lowest bits
+            array[i] = random.nextInt(4) == 0 ? 1.0 + random.nextInt(30_000) * Math.ulp(1.0) : random.nextInt(500);
+        }
+        FrequencyCounter.DoubleTable table = new FrequencyCounter.DoubleTable(0);
+        for (double value : array) {
+            table.add(value);
+        }
+
+        Map<Double, Integer> expected = new LinkedHashMap<>();
+        for (double value : array) {
+            expected.merge(value, 1, Integer::sum);
+        }
+        int[] entries = table.order(false, Integer.MAX_VALUE);
+        assertThat(table.values(entries)).containsExactly(expected.keySet().stream().mapToDouble(Double::doubleValue).toArray());
+        assertThat(table.counts(entries)).containsExactly(expected.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Test
+    void byFrequencyMatchesAStableSortByCount() {
+        Random random = new Random(3);
+        for (int size : new int[]{0, 1, 2, 50, 1000}) {
+            // few distinct counts, so the k-th count is usually tied
+            int[] counts = random.ints(size, 1, 6).toArray();
+            for (int limit : new int[]{0, 1, 2, size / 2, Math.max(0, size - 1), size, size + 10}) {
+                assertThat(FrequencyCounter.byFrequency(counts, size, limit)).as("size %d limit %d", size, limit)
+                        .isEqualTo(stableByCount(counts, size, limit));
+            }
+        }
+    }
+
+    @Test
+    void byFrequencyHandlesTheFullCountRange() {
+        int[] counts = {Integer.MAX_VALUE, 0, 1, Integer.MAX_VALUE, Integer.MAX_VALUE - 1, 0};
+
+        assertThat(FrequencyCounter.byFrequency(counts, counts.length, 3)).containsExactly(0, 3, 4);
+        assertThat(FrequencyCounter.byFrequency(counts, counts.length, 6)).containsExactly(0, 3, 4, 2, 1, 5);
+        // only the first size counts are entries
+        assertThat(FrequencyCounter.byFrequency(counts, 2, 6)).containsExactly(0, 1);
+    }
+
+    /**************************************************************************/
+
+    private static void assertIntTableMatches(FrequencyCounter.IntTable table, int[] array) {
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int value : array) {
+            expected.merge(value, 1, Integer::sum);
+        }
+        int[] entries = table.order(false, Integer.MAX_VALUE);
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        assertThat(table.values(entries)).containsExactly(expected.keySet().stream().mapToInt(Integer::intValue).toArray());
+        assertThat(table.counts(entries)).containsExactly(expected.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // highest count first, first occurrence first among equal counts
+    private static int[] stableByCount(int[] counts, int size, int limit) {
+        return IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingInt((Integer entry) -> counts[entry]).reversed())
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphemeChunkReaderTest {
+
+    @Test
+    void shortLinesAreCutAtLineBreaks() throws IOException {
+        List<String> chunks = chunks("a\nb\n".repeat(10_000), 64, 256);
+
+        assertThat(String.join("", chunks)).isEqualTo("a\nb\n".repeat(10_000));
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(64));
+    }
+
+    @Test
+    void crLfIsNeverSplit() throws IOException {
+        List<String> chunks = chunks("\r\n".repeat(10_000), 63, 256);
+
+        assertThat(String.join("", chunks)).isEqualTo("\r\n".repeat(10_000));
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).startsWith("\r").endsWith("\n"));
+    }
+
+    @Test
+    void hangulWithoutSpacesIsCutBetweenSyllables() throws IOException {
+        String text = "\uD55C\uAD6D\uC5B4".repeat(10_000);
+        List<String> chunks = chunks(text, 64, 256);
+
+        assertThat(String.join("", chunks)).isEqualTo(text);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(64));
+    }
+
+    @Test
+    void runWithoutBoundaryFailsPastTheCap() {
+        String text = "e" + "\u0301".repeat(1000) + " tail";
+
+        assertThatThrownBy(() -> chunks(text, 16, 256))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("256 chars");
+    }
+
+    @Test
+    void runWithoutBoundaryUnderTheCapIsKeptWhole() throws IOException {
+        String cluster = "e" + "\u0301".repeat(100);
+        List<String> chunks = chunks(cluster + " tail", 16, 256);
+
+        assertThat(chunks.getFirst()).startsWith(cluster);
+        assertThat(String.join("", chunks)).isEqualTo(cluster + " tail");
+    }
+
+    /**************************************************************************/
+
+    private static List<String> chunks(String text, int chunkSize, int maxChunkSize) throws IOException {
+        GraphemeChunkReader reader = new GraphemeChunkReader(new StringReader(text), chunkSize, maxChunkSize,
+                UnaryOperator.identity());
+        List<String> chunks = new ArrayList<>();
+        String chunk;
+        while ((chunk = reader.next()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
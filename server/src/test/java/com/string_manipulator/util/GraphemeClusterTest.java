@@ -0,0 +1,101 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GraphemeCluster entry points, and the inputs on which the opt-in table engine is known to agree
+ * with the default JDK engine.
+ */
+class GraphemeClusterTest {
+
+    private static final String FAMILY = "\uD83D\uDC68\u200D\uD83D\uDC69\u200D\uD83D\uDC67";
+    private static final String FLAG = "\uD83C\uDDFA\uD83C\uDDF8";
+
+    private static final GraphemeSegmenter[] ENGINES = {JdkGraphemeSegmenter.INSTANCE, TableGraphemeSegmenter.INSTANCE};
+
+    // Mixed text; leaves out the GB11 contexts (ZWJ ZWJ, SpacingMark or Prepend around an emoji ZWJ
+    // sequence), noncharacters and the recent scripts on which BreakIterator and the table disagree
+    private static final String[] PIECES = {
+            "a", "Z", " ", ".", "\r\n", "\n", "\t", "\u00E9", "e\u0301", "n\u0303\u0301",
+            "\uAC01", "\u1100\u1161\u11A8", "\u4E2D", "\u0915\u094D\u0937", "\u0E01\u0E33", "\u0627\u0644",
+            "\uD83D\uDC76\uD83C\uDFFF", FAMILY, FLAG, "\uD83C\uDDEB", "\u2764\uFE0F", "1\uFE0F\u20E3",
+            "\uD800", "\uDC00", "\u0378", "\u00AD"   // lone surrogates, unassigned, Control
+    };
+
+    @Test
+    void graphemeLengthCountsClustersNotBoundaries() {
+        // BreakIterator reports the starting boundary too; it used to be counted as a cluster
+        assertThat(GraphemeCluster.graphemeLength("")).isZero();
+        assertThat(GraphemeCluster.graphemeLength("abc")).isEqualTo(3);
+        assertThat(GraphemeCluster.graphemeLength("e\u0301")).isEqualTo(1);
+        assertThat(GraphemeCluster.graphemeLength(FAMILY + "\r\n" + FLAG)).isEqualTo(3);
+
+        for (GraphemeSegmenter engine : ENGINES) {
+            assertThat(GraphemeCluster.graphemeLength("", engine)).isZero();
+            assertThat(GraphemeCluster.graphemeLength("abc", engine)).isEqualTo(3);
+            assertThat(GraphemeCluster.graphemeLength("e\u0301", engine)).isEqualTo(1);
+            assertThat(GraphemeCluster.graphemeLength(FAMILY + "\r\n" + FLAG, engine)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void graphemeLengthMatchesSplitIntoGraphemes() {
+        String text = "ne\u0301e \uAC01 \uD83D\uDC76\uD83C\uDFFF \uD83C\uDDFA\uD83C\uDDF8\uD83C\uDDEB\uD83C\uDDF7\r\n";
+
+        assertThat(GraphemeCluster.graphemeLength(text)).isEqualTo(GraphemeCluster.splitIntoGraphemes(text).size());
+    }
+
+    @Test
+    void truncateKeepsWholeClusters() {
+        for (GraphemeSegmenter engine : ENGINES) {
+            assertThat(GraphemeCluster.truncate("e\u0301a" + FAMILY + "b", 3, engine)).isEqualTo("e\u0301a" + FAMILY + "\u2026");
+            assertThat(GraphemeCluster.truncate("abc", 3, engine)).isEqualTo("abc");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "\uD800\u0301",          // lone high surrogate, then Extend
+            "a\uDC00\u0308",         // lone low surrogate between Other and Extend
+            "\u0600\uDC00",          // Prepend before a lone surrogate
+            "\uDC00\uD800",          // surrogates in the wrong order
+            "a\u0378\u0301",         // unassigned code point, then Extend
+            "\u0600\u0378",          // Prepend before an unassigned code point
+            "\u200D\u200D",          // ZWJ ZWJ without a pictograph
+            "a\u200D\u200D",         // GB9
+            "\uD83D\uDED1\u200D\uD83D\uDED1",      // GB11
+            "\uD83D\uDED1\u0308\u200D\uD83D\uDED1" // GB11 across Extend
+    })
+    void enginesAgreeOnEdgeCases(String text) {
+        assertThat(boundaries(TableGraphemeSegmenter.INSTANCE, text))
+                .isEqualTo(boundaries(JdkGraphemeSegmenter.INSTANCE, text));
+    }
+
+    @Test
+    void enginesAgreeOnMixedText() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int pieces = 1 + random.nextInt(12); pieces > 0; pieces--) {
+                text.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            assertThat(boundaries(TableGraphemeSegmenter.INSTANCE, text.toString()))
+                    .as(text.toString())
+                    .isEqualTo(boundaries(JdkGraphemeSegmenter.INSTANCE, text.toString()));
+        }
+    }
+
+    /**************************************************************************/
+
+    private static int[] boundaries(GraphemeSegmenter segmenter, String text) {
+        int[] out = new int[text.length() + 1];
+        return Arrays.copyOf(out, segmenter.segment(text, 0, text.length(), out, 0));
+    }
+}
@@ -0,0 +1,98 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelGraphemesTest {
+
+    private static final GraphemeSegmenter[] ENGINES = {JdkGraphemeSegmenter.INSTANCE, TableGraphemeSegmenter.INSTANCE};
+
+    private static final String[] PIECES = {
+            "a", " ", "\n", "\r\n", "\r", "\t", "e\u0301", "\u0301", "\u200D", "\u0903", "\u0600",
+            "\uAC00", "\uAC01", "\u1100", "\u1161", "\u11A8", "\uD83C\uDDFA", "\uD83D\uDED1",
+            "\uD83D\uDC68\u200D\uD83D\uDC69", "\uD800", "\uDC00", "\u00AD", "\u0378", "\uD805\uDF20"
+    };
+
+    @Test
+    void cutsAroundLineBreaksAndControls() {
+        String text = "a\nb\n";
+
+        assertThat(ParallelGraphemes.isSafeBoundary(text, 1)).isTrue();  // GB5
+        assertThat(ParallelGraphemes.isSafeBoundary(text, 2)).isTrue();  // GB4
+        assertThat(ParallelGraphemes.isSafeBoundary(text, 3)).isTrue();
+        assertThat(ParallelGraphemes.isSafeBoundary("a\r\nb", 2)).isFalse(); // GB3
+        assertThat(ParallelGraphemes.isSafeBoundary("\n\u0301", 1)).isTrue();
+        assertThat(ParallelGraphemes.isSafeBoundary("\u0600\n", 1)).isTrue();
+    }
+
+    @Test
+    void cutsBetweenHangulSyllables() {
+        assertThat(ParallelGraphemes.isSafeBoundary("\uAC01\uAC01", 1)).isTrue();     // LVT / LVT
+        assertThat(ParallelGraphemes.isSafeBoundary("\uAC00\u1100", 1)).isTrue();     // LV / L
+        assertThat(ParallelGraphemes.isSafeBoundary("\u1100\uAC00", 1)).isFalse();    // GB6
+        assertThat(ParallelGraphemes.isSafeBoundary("\uAC00\u11A8", 1)).isFalse();    // GB7
+        assertThat(ParallelGraphemes.isSafeBoundary("\uAC01\u11A8", 1)).isFalse();    // GB8
+    }
+
+    @Test
+    void neverCutsBeforeJoiners() {
+        assertThat(ParallelGraphemes.isSafeBoundary("e\u0301", 1)).isFalse();
+        assertThat(ParallelGraphemes.isSafeBoundary("a\u200D", 1)).isFalse();
+        assertThat(ParallelGraphemes.isSafeBoundary("a\u0903", 1)).isFalse();
+        assertThat(ParallelGraphemes.isSafeBoundary("a\uD805\uDF20", 1)).isFalse();   // Mc BreakIterator joins
+        assertThat(ParallelGraphemes.isSafeBoundary("\u0600a", 1)).isFalse();
+        assertThat(ParallelGraphemes.isSafeBoundary("\uD83D\uDE00", 1)).isFalse();
+    }
+
+    @Test
+    void safeBoundariesAreBoundariesForBothEngines() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String text = randomText(random, 1 + random.nextInt(10));
+            for (GraphemeSegmenter engine : ENGINES) {
+                int[] out = new int[text.length() + 1];
+                int[] boundaries = Arrays.copyOf(out, engine.segment(text, 0, text.length(), out, 0));
+                for (int offset = 1; offset < text.length(); offset++) {
+                    if (ParallelGraphemes.isSafeBoundary(text, offset)) {
+                        assertThat(boundaries).as("%s at %d", text, offset).contains(offset);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void parallelPathMatchesSequential() {
+        Random random = new Random(11);
+        String text = randomText(random, 60_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (GraphemeSegmenter engine : ENGINES) {
+                assertThat(ParallelGraphemes.reverse(text, engine, pool)).isEqualTo(ReverseString.reverse(text, engine));
+                GraphemeIndex parallel = ParallelGraphemes.index(text, engine, pool);
+                GraphemeIndex sequential = engine.index(text);
+                assertThat(parallel.count()).isEqualTo(sequential.count());
+                for (int g = 0; g <= sequential.count(); g++) {
+                    assertThat(parallel.start(g)).isEqualTo(sequential.start(g));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**************************************************************************/
+
+    private static String randomText(Random random, int pieces) {
+        StringBuilder text = new StringBuilder();
+        for (int p = 0; p < pieces; p++) {
+            text.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionEngineTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    /**************************************************************************/
+
+    @Test
+    void moduloIntMatchesFloorModAndKeepsInputOrder() {
+        Random random = new Random(1);
+        int[] array = random.ints(10_000, -1_000_000, 1_000_000).toArray();
+        for (int modulus : new int[]{1, 2, 7, 64, 622, 1024}) {
+            PartitionEngine.IntPartition partition = PartitionEngine.partition(array, PartitionEngine.Rule.modulo(modulus));
+            assertMatchesModel(array, partition, modulus, value -> Math.floorMod(value, modulus));
+        }
+    }
+
+    @Test
+    void moduloDoubleStaysInRangeForHugeValues() {
+        Random random = new Random(2);
+        double[] array = new double[20_000];
+        for (int i = 0; i < array.length; i++) {
+            // every magnitude up to 1e300, both signs, including values far past 2^53
+            array[i] = (random.nextBoolean() ? 1 : -1) * Math.pow(10, random.nextDouble() * 300);
+        }
+        array[0] = 2.0141860204737475E18;
+        for (int modulus : new int[]{3, 622, 1000}) {
+            PartitionEngine.DoublePartition partition = PartitionEngine.partition(array, PartitionEngine.Rule.modulo(modulus));
+            assertMatchesModel(array, partition, modulus, value -> exactFloorMod(value, modulus));
+        }
+    }
+
+    @Test
+    void moduloDoubleUsesTheFloorOfFractionalValues() {
+        double[] array = {-0.5, 0.5, 2.5, -3.0, -0.0};
+        PartitionEngine.DoublePartition partition = PartitionEngine.partition(array, PartitionEngine.Rule.modulo(3));
+
+        assertThat(partition.bucket(0)).containsExactly(0.5, -3.0, -0.0);
+        assertThat(partition.bucket(1)).isEmpty();
+        assertThat(partition.bucket(2)).containsExactly(-0.5, 2.5);
+    }
+
+    @Test
+    void rangesCountBoundariesAtOrBelowTheValue() {
+        double[] boundaries = {0, 10, 10, 100};
+        int[] array = {-5, 0, 5, 10, 99, 100, 1000};
+        PartitionEngine.IntPartition partition = PartitionEngine.partition(array, PartitionEngine.Rule.ranges(boundaries));
+
+        assertThat(partition.offsets()).containsExactly(0, 1, 3, 3, 5, 7);
+        assertThat(partition.values()).containsExactly(-5, 0, 5, 10, 99, 100, 1000);
+    }
+
+    @Test
+    void rangesRejectDescendingBoundaries() {
+        assertThatThrownBy(() -> PartitionEngine.Rule.ranges(new double[]{2, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parityAndSignFollowTheSeparationRules() {
+        double[] array = {1.5, 2, -0.0, 0.0, -3, 4};
+
+        PartitionEngine.DoublePartition parity = PartitionEngine.partition(array, PartitionEngine.Rule.parity());
+        assertThat(parity.bucket(0)).containsExactly(2, -0.0, 0.0, 4);
+        assertThat(parity.bucket(1)).containsExactly(1.5, -3);
+
+        PartitionEngine.DoublePartition sign = PartitionEngine.partition(array, PartitionEngine.Rule.sign());
+        assertThat(sign.bucket(0)).containsExactly(1.5, 2, 0.0, 4);
+        assertThat(sign.bucket(1)).containsExactly(-0.0, -3);
+    }
+
+    @Test
+    void quantileBoundariesGiveEqualBuckets() {
+        int[] array = new Random(3).ints(10_000).distinct().limit(8_000).toArray();
+        double[] boundaries = PartitionEngine.quantileBoundaries(array, 8);
+        PartitionEngine.IntPartition partition = PartitionEngine.partition(array, PartitionEngine.Rule.ranges(boundaries));
+
+        assertThat(boundaries).hasSize(7);
+        for (int b = 0; b < 8; b++) {
+            assertThat(partition.offsets()[b + 1] - partition.offsets()[b]).isEqualTo(1_000);
+        }
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        Random random = new Random(4);
+        int[] ints = random.ints(1_000_003).toArray();
+        double[] doubles = random.doubles(1_000_003, -1e20, 1e20).toArray();
+        PartitionEngine.Rule[] rules = {
+                PartitionEngine.Rule.modulo(97), PartitionEngine.Rule.modulo(256), PartitionEngine.Rule.parity(),
+                PartitionEngine.Rule.sign(), PartitionEngine.Rule.ranges(new double[]{-1e9, 0, 1e9})
+        };
+        for (PartitionEngine.Rule rule : rules) {
+            PartitionEngine.IntPartition intSequential = PartitionEngine.partition(ints, rule);
+            PartitionEngine.IntPartition intParallel = PartitionEngine.partition(ints, rule, pool);
+            assertThat(intParallel.values()).isEqualTo(intSequential.values());
+            assertThat(intParallel.offsets()).isEqualTo(intSequential.offsets());
+
+            PartitionEngine.DoublePartition doubleSequential = PartitionEngine.partition(doubles, rule);
+            PartitionEngine.DoublePartition doubleParallel = PartitionEngine.partition(doubles, rule, pool);
+            assertThat(doubleParallel.values()).isEqualTo(doubleSequential.values());
+            assertThat(doubleParallel.offsets()).isEqualTo(doubleSequential.offsets());
+        }
+    }
+
+    @Test
+    void splitIsStableInBothBuckets() {
+        int[] array = {0, 1, 2, 3, 4, 5, 6, 7, 8};
+        int boundary = PartitionEngine.split(array, 1, 8, PartitionEngine.Rule.parity(), new int[7]);
+
+        assertThat(boundary).isEqualTo(4);
+        assertThat(array).containsExactly(0, 2, 4, 6, 1, 3, 5, 7, 8);
+    }
+
+    @Test
+    void splitMatchesPartitionOnEverySlice() {
+        Random random = new Random(5);
+        double[] array = random.doubles(5_000, -10, 10).map(Math::rint).toArray();
+        double[] scratch = new double[array.length];
+        PartitionEngine.Rule[] rules = {
+                PartitionEngine.Rule.parity(), PartitionEngine.Rule.sign(),
+                PartitionEngine.Rule.modulo(2), PartitionEngine.Rule.ranges(new double[]{3})
+        };
+        for (PartitionEngine.Rule rule : rules) {
+            for (int from = 0; from < array.length; from += 997) {
+                int to = Math.min(array.length, from + 1_500);
+                double[] slice = Arrays.copyOfRange(array, from, to);
+                PartitionEngine.DoublePartition expected = PartitionEngine.partition(slice, rule);
+                double[] work = array.clone();
+
+                int boundary = PartitionEngine.split(work, from, to, rule, scratch);
+
+                assertThat(boundary - from).isEqualTo(expected.offsets()[1]);
+                assertThat(Arrays.copyOfRange(work, from, to)).containsExactly(expected.values());
+                assertThat(Arrays.copyOfRange(work, 0, from)).containsExactly(Arrays.copyOfRange(array, 0, from));
+            }
+        }
+    }
+
+    @Test
+    void splitNeedsATwoBucketRule() {
+        assertThatThrownBy(() -> PartitionEngine.split(new int[3], 0, 3, PartitionEngine.Rule.modulo(3), new int[3]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyInputGivesEmptyBuckets() {
+        PartitionEngine.IntPartition partition = PartitionEngine.partition(new int[0], PartitionEngine.Rule.modulo(3));
+
+        assertThat(partition.values()).isEmpty();
+        assertThat(partition.offsets()).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    void bucketsFromAnOffHeapViewMatchPartition() {
+        Random random = new Random(9);
+        int[] ints = random.ints(50_000).toArray();
+        double[] doubles = random.doubles(50_000, -1e6, 1e6).map(Math::rint).toArray();
+        doubles[0] = -0.0;
+        doubles[1] = 0.5;
+        PartitionEngine.Rule[] rules = {PartitionEngine.Rule.parity(), PartitionEngine.Rule.sign(),
+                PartitionEngine.Rule.modulo(7), PartitionEngine.Rule.ranges(new double[]{-100, 0, 100})};
+
+        for (PartitionEngine.Rule rule : rules) {
+            PartitionEngine.IntPartition intPartition = PartitionEngine.partition(ints, rule);
+            int[][] intBuckets = PartitionEngine.buckets(OffHeapArray.of(ints).intView(), rule);
+            PartitionEngine.DoublePartition doublePartition = PartitionEngine.partition(doubles, rule);
+            double[][] doubleBuckets = PartitionEngine.buckets(OffHeapArray.of(doubles).doubleView(), rule);
+            for (int b = 0; b < rule.buckets(); b++) {
+                assertThat(intBuckets[b]).as("%s bucket %d", rule.kind(), b).isEqualTo(intPartition.bucket(b));
+                assertThat(doubleBuckets[b]).as("%s bucket %d", rule.kind(), b).isEqualTo(doublePartition.bucket(b));
+            }
+        }
+    }
+
+    /**************************************************************************/
+
+    // Buckets are the stable filters of the input, back to back; the model runs once per element
+    private static void assertMatchesModel(int[] array, PartitionEngine.IntPartition partition, int buckets,
+                                           IntUnaryOperator model) {
+        int[] ids = Arrays.stream(array).map(model).toArray();
+        int position = 0;
+        for (int b = 0; b < buckets; b++) {
+            int bucket = b;
+            int[] expected = IntStream.range(0, array.length).filter(i -> ids[i] == bucket).map(i -> array[i]).toArray();
+            assertThat(partition.offsets()[b]).isEqualTo(position);
+            assertThat(partition.bucket(b)).containsExactly(expected);
+            position += expected.length;
+        }
+        assertThat(partition.offsets()[buckets]).isEqualTo(array.length);
+    }
+
+    private static void assertMatchesModel(double[] array, PartitionEngine.DoublePartition partition, int buckets,
+                                           DoubleToIntFunction model) {
+        int[] ids = Arrays.stream(array).mapToInt(model::applyAsInt).toArray();
+        int position = 0;
+        for (int b = 0; b < buckets; b++) {
+            int bucket = b;
+            double[] expected = IntStream.range(0, array.length).filter(i -> ids[i] == bucket)
+                    .mapToDouble(i -> array[i]).toArray();
+            assertThat(partition.offsets()[b]).isEqualTo(position);
+            assertThat(partition.bucket(b)).containsExactly(expected);
+            position += expected.length;
+        }
+        assertThat(partition.offsets()[buckets]).isEqualTo(array.length);
+    }
+
+    private static int exactFloorMod(double value, int modulus) {
+        BigDecimal floor = new BigDecimal(Math.floor(value));
+        BigDecimal remainder = floor.remainder(BigDecimal.valueOf(modulus));
+        if (remainder.signum() < 0) {
+            remainder = remainder.add(BigDecimal.valueOf(modulus));
+        }
+        return remainder.intValueExact();
+    }
+}
@@ -0,0 +1,169 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SelectEngineTest {
+
+    private static final int[] LENGTHS = {0, 1, 5, 16, 17, 100, 1000, 10_000};
+
+    private static final double[] DOUBLE_EDGES = {
+            -0.0, 0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    /**************************************************************************/
+
+    @Test
+    void intExtremesMatchArraysSortOnBothSidesOfTheHeapSwitch() {
+        Random random = new Random(1);
+        for (int n : LENGTHS) {
+            for (int[] array : intInputs(random, n)) {
+                int[] sorted = array.clone();
+                Arrays.sort(sorted);
+                for (int k : ks(n)) {
+                    int m = Math.min(k, n);
+                    assertThat(SelectEngine.smallest(array, k)).as("n %d k %d", n, k)
+                            .isEqualTo(Arrays.copyOfRange(sorted, 0, m));
+                    assertThat(SelectEngine.largest(array, k)).as("n %d k %d", n, k)
+                            .isEqualTo(reversed(Arrays.copyOfRange(sorted, n - m, n)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void doubleExtremesMatchArraysSortOnBothSidesOfTheHeapSwitch() {
+        Random random = new Random(2);
+        for (int n : LENGTHS) {
+            double[] array = doubleInput(random, n);
+            double[] sorted = array.clone();
+            Arrays.sort(sorted);
+            for (int k : ks(n)) {
+                int m = Math.min(k, n);
+                // isEqualTo on double[] tells -0.0 from 0.0
+                assertThat(SelectEngine.smallest(array, k)).as("n %d k %d", n, k)
+                        .isEqualTo(Arrays.copyOfRange(sorted, 0, m));
+                assertThat(SelectEngine.largest(array, k)).as("n %d k %d", n, k)
+                        .isEqualTo(reversed(Arrays.copyOfRange(sorted, n - m, n)));
+            }
+        }
+    }
+
+    @Test
+    void selectedRanksHoldTheSortedValues() {
+        Random random = new Random(3);
+        for (int n : LENGTHS) {
+            if (n == 0) {
+                continue;
+            }
+            for (int[] array : intInputs(random, n)) {
+                int[] sorted = array.clone();
+                Arrays.sort(sorted);
+                // unordered, with duplicates, and always the two ends
+                int[] ranks = random.ints(1 + random.nextInt(8), 0, n).toArray();
+                ranks = Arrays.copyOf(ranks, ranks.length + 3);
+                ranks[ranks.length - 3] = 0;
+                ranks[ranks.length - 2] = n - 1;
+                ranks[ranks.length - 1] = ranks[0];
+
+                int[] work = array.clone();
+                SelectEngine.selectRanks(work, ranks);
+
+                for (int rank : ranks) {
+                    assertThat(work[rank]).as("n %d rank %d", n, rank).isEqualTo(sorted[rank]);
+                }
+                assertThat(work).containsExactlyInAnyOrder(array);
+            }
+
+            double[] doubles = doubleInput(random, n);
+            double[] sortedDoubles = doubles.clone();
+            Arrays.sort(sortedDoubles);
+            double[] work = doubles.clone();
+            int[] every = new int[n];
+            Arrays.setAll(every, i -> i);
+            SelectEngine.selectRanks(work, every);
+            assertThat(work).as("n %d", n).isEqualTo(sortedDoubles);
+        }
+    }
+
+    @Test
+    void signedZerosFollowDoubleCompare() {
+        double[] zeros = new double[200];
+        for (int i = 0; i < zeros.length; i++) {
+            zeros[i] = i % 3 == 0 ? -0.0 : 0.0;
+        }
+
+        double[] work = zeros.clone();
+        SelectEngine.selectRanks(work, new int[]{66, 67});
+        assertThat(work[66]).isEqualTo(-0.0);
+        assertThat(work[67]).isEqualTo(0.0);
+        assertThat(SelectEngine.smallest(zeros, 2)).containsExactly(-0.0, -0.0);
+        assertThat(SelectEngine.largest(zeros, 2)).containsExactly(0.0, 0.0);
+        assertThat(SelectEngine.smallest(new double[]{0.0, -0.0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, 1))
+                .containsExactly(-0.0);
+    }
+
+    @Test
+    void ranksOutsideTheArrayAreRejected() {
+        assertThatThrownBy(() -> SelectEngine.selectRanks(new int[3], new int[]{3}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SelectEngine.selectRanks(new double[3], new int[]{-1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**************************************************************************/
+
+    // k = 0, the heap range, the first k that selects instead, and k >= n
+    private static int[] ks(int n) {
+        return new int[]{0, 1, Math.max(1, n / 16), n / 16 + 1, Math.max(1, n - 1), n, n + 5, Integer.MAX_VALUE};
+    }
+
+    // random, few distinct values, extremes, and the orders that stress pivot choice and the depth limit
+    private static int[][] intInputs(Random random, int n) {
+        int[] uniform = random.ints(n).toArray();
+        int[] duplicates = random.ints(n, 0, 4).toArray();
+        int[] extremes = new int[n];
+        int[] ascending = new int[n];
+        int[] organPipe = new int[n];
+        int[] sawtooth = new int[n];
+        for (int i = 0; i < n; i++) {
+            extremes[i] = random.nextBoolean() ? Integer.MIN_VALUE : random.nextBoolean() ? Integer.MAX_VALUE : 0;
+            ascending[i] = i;
+            organPipe[i] = Math.min(i, n - i);
+            sawtooth[i] = i % 7;
+        }
+        return new int[][]{uniform, duplicates, extremes, ascending, reversed(ascending), organPipe, sawtooth};
+    }
+
+    private static double[] doubleInput(Random random, int n) {
+        double[] array = new double[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = random.nextInt(3) == 0
+                    ? DOUBLE_EDGES[random.nextInt(DOUBLE_EDGES.length)]
+                    : (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+        }
+        return array;
+    }
+
+    private static int[] reversed(int[] array) {
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[array.length - 1 - i];
+        }
+        return result;
+    }
+
+    private static double[] reversed(double[] array) {
+        double[] result = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[array.length - 1 - i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortEngineTest {
+
+    // around the insertion cut-off, one radix pass, and long enough for every byte to vary
+    private static final int[] LENGTHS = {0, 1, 2, 31, 32, 33, 100, 1000, 20_000};
+
+    private static final double[] DOUBLE_EDGES = {
+            -0.0, 0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_NORMAL, 1.0, -1.0
+    };
+
+    /**************************************************************************/
+
+    @Test
+    void intsMatchArraysSortAcrossValueRanges() {
+        Random random = new Random(1);
+        // all equal, one byte, two bytes, and the full int range (value - min wraps past 2^31)
+        int[][] bounds = {{7, 8}, {-100, 100}, {0, 60_000}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int length : LENGTHS) {
+            for (int[] bound : bounds) {
+                int[] array = random.ints(length, bound[0], bound[1]).toArray();
+                assertIntSorts(array);
+            }
+        }
+    }
+
+    @Test
+    void intExtremesSortInBothOrders() {
+        Random random = new Random(2);
+        int[] edges = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 1, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1};
+        for (int length : LENGTHS) {
+            int[] array = new int[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = edges[random.nextInt(edges.length)];
+            }
+            assertIntSorts(array);
+        }
+    }
+
+    @Test
+    void doublesMatchArraysSortIncludingSignedZeros() {
+        Random random = new Random(3);
+        for (int length : LENGTHS) {
+            double[] array = new double[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = random.nextInt(4) == 0
+                        ? DOUBLE_EDGES[random.nextInt(DOUBLE_EDGES.length)]
+                        : (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(600) - 300);
+            }
+            assertDoubleSorts(array);
+        }
+    }
+
+    @Test
+    void doublesSharingHighBytesStillSort() {
+        // keys differ only in their lowest bytes, so the skipped passes must not reorder anything
+        Random random = new Random(4);
+        double[] array = new double[5000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Math.nextUp(1.0) + random.nextInt(1 << 12) * Math.ulp(1.0);
+        }
+        assertDoubleSorts(array);
+    }
+
+    @Test
+    void sortRangeLeavesTheRestOfTheArrayAlone() {
+        Random random = new Random(5);
+        int[] ints = random.ints(3000).toArray();
+        double[] doubles = random.doubles(3000, -1e9, 1e9).toArray();
+        for (boolean descending : new boolean[]{false, true}) {
+            for (int[] range : new int[][]{{0, 0}, {10, 20}, {100, 2900}, {500, 3000}}) {
+                int[] intCopy = ints.clone();
+                SortEngine.sortRange(intCopy, range[0], range[1], descending, Integer.MAX_VALUE);
+                int[] expectedInts = ints.clone();
+                Arrays.sort(expectedInts, range[0], range[1]);
+                if (descending) {
+                    reverse(expectedInts, range[0], range[1]);
+                }
+                assertThat(intCopy).isEqualTo(expectedInts);
+
+                double[] doubleCopy = doubles.clone();
+                SortEngine.sortRange(doubleCopy, range[0], range[1], descending, Integer.MAX_VALUE);
+                double[] expectedDoubles = doubles.clone();
+                Arrays.sort(expectedDoubles, range[0], range[1]);
+                if (descending) {
+                    reverse(expectedDoubles, range[0], range[1]);
+                }
+                assertThat(doubleCopy).isEqualTo(expectedDoubles);
+            }
+        }
+    }
+
+    @Test
+    void copyModeLeavesTheInputUntouched() {
+        int[] ints = new Random(6).ints(500).toArray();
+        double[] doubles = new Random(6).doubles(500).toArray();
+        int[] intsBefore = ints.clone();
+        double[] doublesBefore = doubles.clone();
+
+        SortEngine.sort(ints, true, false, Integer.MAX_VALUE);
+        SortEngine.sort(doubles, true, false, Integer.MAX_VALUE);
+
+        assertThat(ints).isEqualTo(intsBefore);
+        assertThat(doubles).isEqualTo(doublesBefore);
+    }
+
+    @Test
+    void algorithmFollowsSizeTypeAndOrder() {
+        assertThat(SortEngine.choose(32, true, false, 100)).isEqualTo(SortEngine.Algorithm.INSERTION);
+        assertThat(SortEngine.choose(100, true, false, 100)).isEqualTo(SortEngine.Algorithm.PARALLEL);
+        assertThat(SortEngine.choose(100, true, true, 100)).isEqualTo(SortEngine.Algorithm.RADIX);
+        assertThat(SortEngine.choose(99, true, false, 100)).isEqualTo(SortEngine.Algorithm.RADIX);
+        assertThat(SortEngine.choose(99, false, false, 100)).isEqualTo(SortEngine.Algorithm.DUAL_PIVOT_QUICKSORT);
+        assertThat(SortEngine.choose(99, false, true, 100)).isEqualTo(SortEngine.Algorithm.RADIX);
+    }
+
+    /**************************************************************************/
+
+    // every algorithm the engine can pick: the parallel threshold 1 sends ascending input to parallelSort
+    private static void assertIntSorts(int[] array) {
+        int[] ascending = array.clone();
+        Arrays.sort(ascending);
+        int[] descending = ascending.clone();
+        reverse(descending, 0, descending.length);
+        for (int parallelThreshold : new int[]{1, Integer.MAX_VALUE}) {
+            assertThat(SortEngine.sort(array, false, false, parallelThreshold)).isEqualTo(ascending);
+            assertThat(SortEngine.sort(array, true, false, parallelThreshold)).isEqualTo(descending);
+        }
+    }
+
+    // isEqualTo on double[] compares like Arrays.equals, so -0.0 and 0.0 must be in Double.compare order
+    private static void assertDoubleSorts(double[] array) {
+        double[] ascending = array.clone();
+        Arrays.sort(ascending);
+        double[] descending = ascending.clone();
+        reverse(descending, 0, descending.length);
+        for (int parallelThreshold : new int[]{1, Integer.MAX_VALUE}) {
+            assertThat(SortEngine.sort(array, false, false, parallelThreshold)).isEqualTo(ascending);
+            assertThat(SortEngine.sort(array, true, false, parallelThreshold)).isEqualTo(descending);
+        }
+    }
+
+    private static void reverse(int[] array, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+
+    private static void reverse(double[] array, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            double swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.string_manipulator.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cases in the notation of the Unicode GraphemeBreakTest.txt: code points in hex, {@code ÷} marks
+ * a cluster boundary and {@code ×} marks no boundary.
+ */
+class TableGraphemeSegmenterTest {
+
+    private final TableGraphemeSegmenter segmenter = TableGraphemeSegmenter.INSTANCE;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "÷ 0020 ÷ 0020 ÷",                          // GB999
+            "÷ 0061 ÷ 0062 ÷ 0063 ÷",                   // GB999
+            "÷ 000D × 000A ÷",                          // GB3
+            "÷ 0061 ÷ 000D × 000A ÷ 0062 ÷",            // GB3, GB4, GB5
+            "÷ 000A ÷ 0308 ÷",                          // GB4
+            "÷ 000D ÷ 000D ÷",                          // GB4
+            "÷ 0001 ÷ 0308 ÷",                          // GB4
+            "÷ 0020 ÷ 000D ÷",                          // GB5
+            "÷ 0020 ÷ 0001 ÷",                          // GB5
+            "÷ 00AD ÷ 0020 ÷",                          // GB4, soft hyphen is Control
+            "÷ 1100 × 1100 ÷",                          // GB6 L x L
+            "÷ 1100 × 1160 ÷",                          // GB6 L x V
+            "÷ 1100 × AC00 ÷",                          // GB6 L x LV
+            "÷ 1100 × AC01 ÷",                          // GB6 L x LVT
+            "÷ AC00 × 1160 ÷",                          // GB7 LV x V
+            "÷ AC00 × 11A8 ÷",                          // GB7 LV x T
+            "÷ 1160 × 11A8 ÷",                          // GB7 V x T
+            "÷ AC01 × 11A8 ÷",                          // GB8 LVT x T
+            "÷ 11A8 × 11A8 ÷",                          // GB8 T x T
+            "÷ 11A8 ÷ 1100 ÷",                          // GB999 T / L
+            "÷ 0061 × 0308 ÷",                          // GB9 Extend
+            "÷ 0061 × 0308 × 0301 ÷ 0062 ÷",            // GB9 Extend*
+            "÷ 0061 × 200C ÷",                          // GB9 ZWNJ is Extend
+            "÷ 0061 × 200D ÷",                          // GB9 ZWJ
+            "÷ 0061 × 0903 ÷",                          // GB9a SpacingMark
+            "÷ 0E01 × 0E33 ÷",                          // GB9a Thai SARA AM
+            "÷ 0600 × 0061 ÷",                          // GB9b Prepend
+            "÷ 0600 × 0600 × 0061 ÷",                   // GB9b Prepend*
+            "÷ 0600 ÷ 000A ÷",                          // GB5 beats GB9b
+            "÷ 1F476 × 1F3FF ÷",                        // GB9 emoji modifier
+            "÷ 1F468 × 200D × 1F469 ÷",                 // GB11
+            "÷ 1F6D1 × 0308 × 200D × 1F6D1 ÷",          // GB11 across Extend
+            "÷ 1F6D1 × 0903 × 200D ÷ 1F6D1 ÷",          // GB11 does not cross a SpacingMark
+            "÷ 1F6D1 × 200D × 200D ÷ 1F6D1 ÷",          // GB11 allows one ZWJ only
+            "÷ 0600 × 1F6D1 × 200D × 1F6D1 ÷",          // GB9b, then GB11
+            "÷ 0061 × 200D ÷ 1F6D1 ÷",                  // GB11 needs a pictograph before the ZWJ
+            "÷ 2701 × 200D × 2701 ÷",                   // GB11
+            "÷ 1F1E6 × 1F1E7 ÷ 1F1E8 ÷",                // GB12
+            "÷ 0061 ÷ 1F1E6 × 1F1E7 ÷ 1F1E8 × 1F1E9 ÷", // GB13
+            "÷ 1F1E6 × 200D ÷ 1F1E7 ÷",                 // GB9, then GB999
+            "÷ FFFF × 0308 ÷",                          // GB9, a noncharacter is Other
+            "÷ D800 ÷ 0301 ÷",                          // GB4, a lone surrogate is Control
+            "÷ 0600 ÷ DC00 ÷",                          // GB5, not GB9b
+            "÷ 0061 ÷ DC00 ÷ 0308 ÷",                   // GB5, GB4
+            "÷ DC00 ÷ D800 ÷",                          // GB4, two lone surrogates in the wrong order
+            "÷ D83D × DE00 ÷"                           // a valid pair is one code point (U+1F600)
+    })
+    void followsUax29(String test) {
+        String text = text(test);
+        int[] expected = boundaries(test);
+
+        int[] out = new int[text.length() + 1];
+        int written = segmenter.segment(text, 0, text.length(), out, 0);
+
+        assertThat(Arrays.copyOf(out, written)).as(test).containsExactly(expected);
+        assertThat(segmenter.count(text)).as(test).isEqualTo(expected.length);
+    }
+
+    @Test
+    void loneSurrogatesAreControl() {
+        for (int cp : new int[]{0xD800, 0xDBFF, 0xDC00, 0xDFFF}) {
+            assertThat(GraphemeBreakProperty.breakProperty(GraphemeBreakProperty.of(cp)))
+                    .as("U+%04X", cp)
+                    .isEqualTo(GraphemeBreakProperty.CONTROL);
+        }
+    }
+
+    @Test
+    void nextBoundaryStopsAtTheLimit() {
+        String text = "e\u0301\u0301";
+
+        assertThat(segmenter.nextBoundary(text, 0, 2)).isEqualTo(2);
+        assertThat(segmenter.nextBoundary(text, 0, text.length())).isEqualTo(3);
+    }
+
+    /**************************************************************************/
+
+    // The code points of a test line as UTF-16; an unpaired surrogate stays a single char
+    private static String text(String test) {
+        StringBuilder text = new StringBuilder();
+        for (String token : test.split(" ")) {
+            if (!token.equals("÷") && !token.equals("×")) {
+                text.appendCodePoint(Integer.parseInt(token, 16));
+            }
+        }
+        return text.toString();
+    }
+
+    // End offset (in chars) of every cluster, i.e. each ÷ after the first
+    private static int[] boundaries(String test) {
+        List<Integer> boundaries = new ArrayList<>();
+        int offset = 0;
+        for (String token : test.split(" ")) {
+            if (token.equals("÷")) {
+                if (offset > 0) {
+                    boundaries.add(offset);
+                }
+            } else if (!token.equals("×")) {
+                offset += Character.charCount(Integer.parseInt(token, 16));
+            }
+        }
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,43 @@
+package com.string_manipulator.util.sum_logic;
+
+import com.string_manipulator.util.OffHeapArray;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoubleSumArrayTest {
+
+    @Test
+    void offHeapViewsSumToTheSameBitsAsArrays() {
+        Random random = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int length : new int[]{1, 127, 4096, 4097, 100_000, 300_001}) {
+                // mixed magnitudes, so any change in the order of the additions changes the bits
+                double[] array = random.doubles(length).map(v -> (v - 0.5) * Math.pow(10, random.nextInt(12))).toArray();
+                DoubleBuffer view = OffHeapArray.of(array).doubleView();
+
+                assertThat(DoubleSumArray.compensatedSum(view)).isEqualTo(DoubleSumArray.compensatedSum(array));
+                assertThat(DoubleSumArray.compensatedSum(view, pool)).isEqualTo(DoubleSumArray.compensatedSum(array));
+                assertThat(DoubleSumArray.pairwiseSum(view)).isEqualTo(DoubleSumArray.pairwiseSum(array));
+                assertThat(DoubleSumArray.pairwiseSum(view, pool)).isEqualTo(DoubleSumArray.pairwiseSum(array));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void offHeapIntViewSumsExactly() {
+        int[] array = new int[10_001];
+        Arrays.fill(array, Integer.MIN_VALUE);
+        array[0] = Integer.MAX_VALUE;
+
+        assertThat(IntSumArray.findSum(OffHeapArray.of(array).intView())).isEqualTo(IntSumArray.findSum(array));
+    }
+}